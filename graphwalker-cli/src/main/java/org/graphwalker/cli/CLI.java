@@ -63,6 +63,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.file.Paths;
@@ -416,6 +417,10 @@ public class CLI {
         org.graphwalker.io.common.Util.filterBlockedElements(contexts);
       }
 
+      if (offline.seed != 0) {
+        SingletonRandomGenerator.setSeed(offline.seed);
+      }
+
       TestExecutor executor = new TestExecutor(contexts);
       executor.getMachine().addObserver((machine, element, type) -> {
         if (EventType.BEFORE_ELEMENT.equals(type)) {
@@ -423,10 +428,6 @@ public class CLI {
         }
       });
 
-      if (offline.seed != 0) {
-        SingletonRandomGenerator.setSeed(offline.seed);
-      }
-
       executor.execute();
     } else if (!offline.gw.isEmpty()) {
       List<Context> contexts = new JsonContextFactory().create(Paths.get(offline.gw));
@@ -440,9 +441,15 @@ public class CLI {
       }
 
       SimpleMachine machine = new SimpleMachine(contexts);
-      while (machine.hasNextStep()) {
-        machine.getNextStep();
-        System.out.println(Util.getStepAsJSON(machine, offline.verbose, offline.unvisited).toString());
+      try {
+        while (machine.hasNextStep()) {
+          machine.getNextStep();
+          System.out.println(Util.getStepAsJSON(machine, offline.verbose, offline.unvisited).toString());
+        }
+      } finally {
+        if (machine.getProfiler() instanceof Closeable) {
+          ((Closeable) machine.getProfiler()).close();
+        }
       }
     }
   }
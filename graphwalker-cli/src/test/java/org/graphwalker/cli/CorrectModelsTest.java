@@ -105,6 +105,19 @@ public class CorrectModelsTest extends CLITestRoot {
     assertThat(result.getError(), is(""));
   }
 
+  /**
+   * The same seed gives the same path
+   */
+  @Test
+  public void seededModel() {
+    String args[] = {"offline", "--seed", "147945811993279", "-m", "graphml/Login.graphml", "random(edge_coverage(100))"};
+    Result first = runCommand(args);
+    Result second = runCommand(args);
+    assertThat(first.getStatus(), is(0));
+    assertThat(first.getError(), is(""));
+    assertThat(second.getOutput(), is(first.getOutput()));
+  }
+
   /**
    * No start vertex
    */
@@ -34,6 +34,7 @@ import java.util.*;
 
 import static org.graphwalker.core.common.Objects.isNotNull;
 import static org.graphwalker.core.common.Objects.isNull;
+import static org.graphwalker.core.model.Edge.RuntimeEdge;
 
 /**
  * <h1>AStar</h1>
@@ -52,12 +53,37 @@ public class AStar implements Algorithm {
     this.context = context;
   }
 
+  /**
+   * Gets the next element on the shortest path from origin to destination.
+   * </p>
+   * The next hop is looked up in the distance oracle, and only if that hop is an edge whose guard
+   * doesn't allow it, the available neighbours of origin are searched.
+   *
+   * @param origin      The element to start from.
+   * @param destination The element to reach.
+   * @return The element to step to.
+   */
   public Element getNextElement(Element origin, Element destination) {
+    if (origin.equals(destination)) {
+      return origin;
+    }
+    DistanceOracle distances = DistanceOracleFactory.getDistanceOracle(context);
+    Element nextElement = distances.getNextElement(origin, destination);
+    if (isNotNull(nextElement) && isAvailable(nextElement)) {
+      return nextElement;
+    }
+    return getAvailableNextElement(origin, destination, distances);
+  }
+
+  private boolean isAvailable(Element element) {
+    return !(element instanceof RuntimeEdge) || context.isAvailable((RuntimeEdge) element);
+  }
+
+  private Element getAvailableNextElement(Element origin, Element destination, DistanceOracle distances) {
     Map<Element, AStarNode> openSet = new HashMap<>();
     PriorityQueue<AStarNode> queue = new PriorityQueue<>(10, new AStarNodeComparator());
     Map<Element, AStarNode> closeSet = new HashMap<>();
-    FloydWarshall floydWarshall = context.getAlgorithm(FloydWarshall.class);
-    AStarNode sourceNode = new AStarNode(origin, 0, floydWarshall.getShortestDistance(origin, destination));
+    AStarNode sourceNode = new AStarNode(origin, 0, distances.getShortestDistance(origin, destination));
     openSet.put(origin, sourceNode);
     queue.add(sourceNode);
     AStarNode node = queue.poll();
@@ -69,7 +95,7 @@ public class AStar implements Algorithm {
     } else {
       closeSet.put(node.getElement(), node);
       List<Element> neighbors = context.filter(context.getModel().getElements(node.getElement()));
-      calculate(destination, openSet, queue, closeSet, floydWarshall, node, neighbors);
+      calculate(destination, openSet, queue, closeSet, distances, node, neighbors);
     }
     if (!queue.isEmpty()) {
       AStarNode result = queue.poll();
@@ -81,21 +107,21 @@ public class AStar implements Algorithm {
   }
 
   private void calculate(Element destination, Map<Element, AStarNode> openSet, PriorityQueue<AStarNode> queue, Map<Element, AStarNode> closeSet,
-                         FloydWarshall floydWarshall, AStarNode node, List<Element> neighbors) {
+                         DistanceOracle distances, AStarNode node, List<Element> neighbors) {
     for (Element neighbor : neighbors) {
       AStarNode visited = closeSet.get(neighbor);
       if (isNull(visited)) {
-        double g = node.getG() + floydWarshall.getShortestDistance(node.getElement(), neighbor);
+        double g = node.getG() + distances.getShortestDistance(node.getElement(), neighbor);
         AStarNode neighborNode = openSet.get(neighbor);
         if (isNull(neighborNode)) {
-          neighborNode = new AStarNode(neighbor, g, floydWarshall.getShortestDistance(neighbor, destination));
+          neighborNode = new AStarNode(neighbor, g, distances.getShortestDistance(neighbor, destination));
           neighborNode.setParent(node);
           openSet.put(neighbor, neighborNode);
           queue.add(neighborNode);
         } else if (g < neighborNode.getG()) {
           neighborNode.setParent(node);
           neighborNode.setG(g);
-          neighborNode.setH(floydWarshall.getShortestDistance(neighbor, destination));
+          neighborNode.setH(distances.getShortestDistance(neighbor, destination));
         }
       }
     }
@@ -105,8 +131,8 @@ public class AStar implements Algorithm {
     Map<Element, AStarNode> openSet = new HashMap<>();
     PriorityQueue<AStarNode> queue = new PriorityQueue<>(10, new AStarNodeComparator());
     Map<Element, AStarNode> closeSet = new HashMap<>();
-    FloydWarshall floydWarshall = context.getAlgorithm(FloydWarshall.class);
-    AStarNode sourceNode = new AStarNode(origin, 0, floydWarshall.getShortestDistance(origin, destination));
+    DistanceOracle distances = DistanceOracleFactory.getDistanceOracle(context);
+    AStarNode sourceNode = new AStarNode(origin, 0, distances.getShortestDistance(origin, destination));
     openSet.put(origin, sourceNode);
     queue.add(sourceNode);
     AStarNode targetNode = null;
@@ -120,7 +146,7 @@ public class AStar implements Algorithm {
         } else {
           closeSet.put(node.getElement(), node);
           List<Element> neighbors = context.filter(context.getModel().getElements(node.getElement()));
-          calculate(destination, openSet, queue, closeSet, floydWarshall, node, neighbors);
+          calculate(destination, openSet, queue, closeSet, distances, node, neighbors);
         }
       }
     }
@@ -30,19 +30,32 @@ import org.graphwalker.core.model.Classification;
 import org.graphwalker.core.model.ClassificationTree;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <h1>All combinations from given classification tree</h1>
  * The algorithm will generate all possible combinations given the classification tree.
  * </p>
+ * The combinations are produced one at a time, by counting through the classes like the digits of a
+ * number, so the whole cartesian product never has to be kept in memory. For large trees a covering
+ * array can be generated instead, where every combination of classes from any n classifications
+ * (pairs by default) is part of at least one row, which needs far fewer rows than all combinations.
+ * </p>
  *
  * @author Kristian karl
  */
 public class AllClassificationCombinations implements Algorithm {
 
+  public static final int PAIRWISE = 2;
+
   private final ClassificationTree.RuntimeClassificationTree tree;
-  private static List<List<Classification.RuntimeClassification>> combinations;
 
   public AllClassificationCombinations(ClassificationTree.RuntimeClassificationTree tree) {
     this.tree = tree;
@@ -71,34 +84,282 @@ public class AllClassificationCombinations implements Algorithm {
     }
   }
 
+  private List<List<Classification.RuntimeClassification>> getTreeData() {
+    List<List<Classification.RuntimeClassification>> treeData = new ArrayList<>();
+    for (Classification.RuntimeClassification cls : getClassifications()) {
+      treeData.add(cls.getClassifications());
+    }
+    return treeData;
+  }
 
   /*
    * Will generate all combinations by the given classification tree.
    * The result is returned as list, where each row represent the combination.
    */
   public List<List<Classification.RuntimeClassification>> generate() {
-    List<Classification.RuntimeClassification> classes = getClassifications();
-    List<List<Classification.RuntimeClassification>> treeData = new ArrayList<>();
-    for (Classification.RuntimeClassification cls : classes) {
-      treeData.add(cls.getClassifications());
+    return collect(iterator());
+  }
+
+  /*
+   * Will generate a covering array of the given strength by the given classification tree.
+   * The result is returned as list, where each row represent the combination.
+   */
+  public List<List<Classification.RuntimeClassification>> generate(int strength) {
+    return collect(coveringIterator(strength));
+  }
+
+  /**
+   * Returns an iterator that creates all combinations when they are asked for.
+   */
+  public Iterator<List<Classification.RuntimeClassification>> iterator() {
+    return new CombinationIterator(getTreeData());
+  }
+
+  public Stream<List<Classification.RuntimeClassification>> stream() {
+    return stream(iterator());
+  }
+
+  /**
+   * Returns an iterator over a covering array, where every combination of classes from any
+   * {@code strength} classifications is part of at least one row.
+   */
+  public Iterator<List<Classification.RuntimeClassification>> coveringIterator(int strength) {
+    if (strength < 1) {
+      throw new AlgorithmException("The strength of a covering array must be at least one");
+    }
+    List<List<Classification.RuntimeClassification>> treeData = getTreeData();
+    if (strength >= treeData.size()) {
+      return new CombinationIterator(treeData);
     }
+    return new CoveringArrayIterator(treeData, strength);
+  }
+
+  public Stream<List<Classification.RuntimeClassification>> coveringStream() {
+    return coveringStream(PAIRWISE);
+  }
 
-    combinations = new ArrayList<>();
-    getCombinations(treeData, 0, new ArrayList<>());
+  public Stream<List<Classification.RuntimeClassification>> coveringStream(int strength) {
+    return stream(coveringIterator(strength));
+  }
+
+  private static List<List<Classification.RuntimeClassification>> collect(Iterator<List<Classification.RuntimeClassification>> iterator) {
+    List<List<Classification.RuntimeClassification>> combinations = new ArrayList<>();
+    iterator.forEachRemaining(combinations::add);
     return combinations;
   }
 
-  private static void getCombinations(List<List<Classification.RuntimeClassification>> treeData,
-                                      int n,
-                                      ArrayList<Classification.RuntimeClassification> testCase) {
-    if (n >= treeData.size()) {
-      combinations.add(testCase);
-      return;
+  private static Stream<List<Classification.RuntimeClassification>> stream(Iterator<List<Classification.RuntimeClassification>> iterator) {
+    Spliterator<List<Classification.RuntimeClassification>> spliterator = Spliterators.spliteratorUnknownSize(
+      iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+    return StreamSupport.stream(spliterator, false);
+  }
+
+  private static List<Classification.RuntimeClassification> createCombination(List<List<Classification.RuntimeClassification>> treeData, int[] values) {
+    List<Classification.RuntimeClassification> combination = new ArrayList<>(values.length);
+    for (int i = 0; i < values.length; i++) {
+      combination.add(treeData.get(i).get(values[i]));
+    }
+    return combination;
+  }
+
+  /**
+   * Counts through all combinations with a mixed radix counter, the last classification changes the fastest.
+   */
+  private static class CombinationIterator implements Iterator<List<Classification.RuntimeClassification>> {
+
+    private final List<List<Classification.RuntimeClassification>> treeData;
+    private final int[] counter;
+    private boolean hasNext = true;
+
+    private CombinationIterator(List<List<Classification.RuntimeClassification>> treeData) {
+      this.treeData = treeData;
+      this.counter = new int[treeData.size()];
+      for (List<Classification.RuntimeClassification> classes : treeData) {
+        if (classes.isEmpty()) {
+          hasNext = false;
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return hasNext;
+    }
+
+    @Override
+    public List<Classification.RuntimeClassification> next() {
+      if (!hasNext) {
+        throw new NoSuchElementException();
+      }
+      List<Classification.RuntimeClassification> combination = createCombination(treeData, counter);
+      hasNext = increment();
+      return combination;
+    }
+
+    private boolean increment() {
+      for (int i = counter.length - 1; i >= 0; i--) {
+        if (++counter[i] < treeData.get(i).size()) {
+          return true;
+        }
+        counter[i] = 0;
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Creates the rows of a covering array greedily. Each row starts from an uncovered combination of the
+   * classifications that have the most left to cover, the remaining classifications then get the class that covers the most new combinations.
+   */
+  private static class CoveringArrayIterator implements Iterator<List<Classification.RuntimeClassification>> {
+
+    private final List<List<Classification.RuntimeClassification>> treeData;
+    private final int[] radices;
+    private final int[][] columnSets;
+    private final int[][] setsByColumn;
+    private final BitSet[] uncovered;
+    private final int[] counts;
+    private long remaining;
+
+    private CoveringArrayIterator(List<List<Classification.RuntimeClassification>> treeData, int strength) {
+      this.treeData = treeData;
+      this.radices = new int[treeData.size()];
+      for (int i = 0; i < radices.length; i++) {
+        radices[i] = treeData.get(i).size();
+      }
+      this.columnSets = createColumnSets(radices.length, strength);
+      this.setsByColumn = createSetsByColumn(radices.length, columnSets);
+      this.uncovered = new BitSet[columnSets.length];
+      this.counts = new int[columnSets.length];
+      for (int set = 0; set < columnSets.length; set++) {
+        int size = 1;
+        for (int column : columnSets[set]) {
+          size = Math.multiplyExact(size, radices[column]);
+        }
+        uncovered[set] = new BitSet(size);
+        uncovered[set].set(0, size);
+        counts[set] = size;
+        remaining += size;
+      }
+    }
+
+    private static int[][] createColumnSets(int columns, int strength) {
+      List<int[]> sets = new ArrayList<>();
+      int[] set = new int[strength];
+      for (int i = 0; i < strength; i++) {
+        set[i] = i;
+      }
+      while (true) {
+        sets.add(set.clone());
+        int i = strength - 1;
+        while (i >= 0 && set[i] == columns - strength + i) {
+          i--;
+        }
+        if (i < 0) {
+          return sets.toArray(new int[sets.size()][]);
+        }
+        set[i]++;
+        for (int j = i + 1; j < strength; j++) {
+          set[j] = set[j - 1] + 1;
+        }
+      }
+    }
+
+    private static int[][] createSetsByColumn(int columns, int[][] columnSets) {
+      int[] counts = new int[columns];
+      for (int[] set : columnSets) {
+        for (int column : set) {
+          counts[column]++;
+        }
+      }
+      int[][] setsByColumn = new int[columns][];
+      for (int column = 0; column < columns; column++) {
+        setsByColumn[column] = new int[counts[column]];
+        counts[column] = 0;
+      }
+      for (int set = 0; set < columnSets.length; set++) {
+        for (int column : columnSets[set]) {
+          setsByColumn[column][counts[column]++] = set;
+        }
+      }
+      return setsByColumn;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return 0 < remaining;
+    }
+
+    @Override
+    public List<Classification.RuntimeClassification> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      int[] row = new int[radices.length];
+      boolean[] assigned = new boolean[radices.length];
+      int seed = 0;
+      for (int set = 1; set < columnSets.length; set++) {
+        if (counts[set] > counts[seed]) {
+          seed = set;
+        }
+      }
+      int tuple = uncovered[seed].nextSetBit(0);
+      for (int i = columnSets[seed].length - 1; i >= 0; i--) {
+        int column = columnSets[seed][i];
+        row[column] = tuple % radices[column];
+        assigned[column] = true;
+        tuple /= radices[column];
+      }
+      for (int column = 0; column < radices.length; column++) {
+        if (!assigned[column]) {
+          row[column] = getBestValue(column, row, assigned);
+          assigned[column] = true;
+        }
+      }
+      for (int set = 0; set < columnSets.length; set++) {
+        int index = getIndex(set, row);
+        if (uncovered[set].get(index)) {
+          uncovered[set].clear(index);
+          counts[set]--;
+          remaining--;
+        }
+      }
+      return createCombination(treeData, row);
+    }
+
+    private int getBestValue(int column, int[] row, boolean[] assigned) {
+      int bestValue = 0, bestCount = -1;
+      for (int value = 0; value < radices[column]; value++) {
+        row[column] = value;
+        int count = 0;
+        for (int set : setsByColumn[column]) {
+          if (isAssigned(set, column, assigned) && uncovered[set].get(getIndex(set, row))) {
+            count++;
+          }
+        }
+        if (count > bestCount) {
+          bestValue = value;
+          bestCount = count;
+        }
+      }
+      return bestValue;
+    }
+
+    private boolean isAssigned(int set, int column, boolean[] assigned) {
+      for (int other : columnSets[set]) {
+        if (other != column && !assigned[other]) {
+          return false;
+        }
+      }
+      return true;
     }
-    for (Classification.RuntimeClassification c : treeData.get(n)) {
-      ArrayList<Classification.RuntimeClassification> foo = new ArrayList<>(testCase);
-      foo.add(c);
-      getCombinations(treeData, n + 1, foo);
+
+    private int getIndex(int set, int[] row) {
+      int index = 0;
+      for (int column : columnSets[set]) {
+        index = index * radices[column] + row[column];
+      }
+      return index;
     }
   }
 }
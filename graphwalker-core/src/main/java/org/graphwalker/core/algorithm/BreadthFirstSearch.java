@@ -0,0 +1,172 @@
+package org.graphwalker.core.algorithm;
+
+/*
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2014 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.graphwalker.core.machine.Context;
+import org.graphwalker.core.model.Adjacency;
+import org.graphwalker.core.model.Element;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.graphwalker.core.common.Objects.isNull;
+import static org.graphwalker.core.model.Model.RuntimeModel;
+
+/**
+ * <h1>BreadthFirstSearch</h1>
+ * The BreadthFirstSearch is a {@link DistanceOracle} for large models.
+ * </p>
+ * Since every step has the same length, a breadth first search backwards from a destination gives the
+ * shortest distance from all elements to that destination. Such rows are computed when first asked for,
+ * and the most recently used ones are kept, the number of rows kept can be changed with the system
+ * property {@value #CACHE_SIZE}. Memory use grows linearly with the model size, instead of with the
+ * square of it as for {@link FloydWarshall}.
+ * </p>
+ */
+public class BreadthFirstSearch implements DistanceOracle, ModelAlgorithm {
+
+  public static final String CACHE_SIZE = "graphwalker.distance.cache";
+  public static final int DEFAULT_CACHE_SIZE = 256;
+
+  private final RuntimeModel model;
+  private final Adjacency successors;
+  private final Adjacency predecessors;
+  private final Map<Integer, Row> rows;
+
+  public BreadthFirstSearch(Context context) {
+    this.model = context.getModel();
+    this.successors = model.getAdjacency();
+    this.predecessors = model.getReverseAdjacency();
+    this.rows = createCache(Integer.getInteger(CACHE_SIZE, DEFAULT_CACHE_SIZE));
+  }
+
+  private static Map<Integer, Row> createCache(final int size) {
+    return new LinkedHashMap<Integer, Row>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Row> eldest) {
+        return size() > size;
+      }
+    };
+  }
+
+  private synchronized Row getRow(int destination) {
+    Row row = rows.get(destination);
+    if (isNull(row)) {
+      row = new Row(destination);
+      rows.put(destination, row);
+    }
+    return row;
+  }
+
+  @Override
+  public int getShortestDistance(Element origin, Element destination) {
+    int destinationIndex = model.getIndex(destination);
+    if (destinationIndex == -1) {
+      return Integer.MAX_VALUE;
+    } else if (origin.equals(destination)) {
+      return 0;
+    }
+    int originIndex = model.getIndex(origin);
+    if (originIndex == -1) {
+      return Integer.MAX_VALUE;
+    }
+    return getShortestDistance(originIndex, destinationIndex);
+  }
+
+  @Override
+  public int getMaximumDistance(Element destination) {
+    int destinationIndex = model.getIndex(destination);
+    if (destinationIndex == -1) {
+      return Integer.MIN_VALUE;
+    }
+    return getMaximumDistance(destinationIndex);
+  }
+
+  @Override
+  public int getShortestDistance(int origin, int destination) {
+    return origin == destination ? 0 : getRow(destination).distances[origin];
+  }
+
+  @Override
+  public int getMaximumDistance(int destination) {
+    return getRow(destination).maximum;
+  }
+
+  @Override
+  public Element getNextElement(Element origin, Element destination) {
+    int originIndex = model.getIndex(origin);
+    int destinationIndex = model.getIndex(destination);
+    if (originIndex == -1 || destinationIndex == -1) {
+      return null;
+    }
+    int[] distances = getRow(destinationIndex).distances;
+    Element nextElement = null;
+    int distance = Integer.MAX_VALUE;
+    for (int position = successors.getOffset(originIndex); position < successors.getOffset(originIndex + 1); position++) {
+      int successor = successors.getTarget(position);
+      if (distances[successor] < distance) {
+        distance = distances[successor];
+        nextElement = model.getElements().get(successor);
+      }
+    }
+    return nextElement;
+  }
+
+  private final class Row {
+
+    private final int[] distances;
+    private final int maximum;
+
+    private Row(int destination) {
+      distances = new int[predecessors.size()];
+      Arrays.fill(distances, Integer.MAX_VALUE);
+      distances[destination] = 0;
+      int[] queue = new int[predecessors.size()];
+      int head = 0;
+      int tail = 0;
+      queue[tail++] = destination;
+      int maximum = Integer.MIN_VALUE;
+      int cycle = Integer.MAX_VALUE;
+      while (head < tail) {
+        int element = queue[head++];
+        for (int position = predecessors.getOffset(element); position < predecessors.getOffset(element + 1); position++) {
+          int predecessor = predecessors.getTarget(position);
+          if (predecessor == destination) {
+            cycle = Math.min(cycle, distances[element] + 1);
+          } else if (distances[predecessor] == Integer.MAX_VALUE) {
+            distances[predecessor] = distances[element] + 1;
+            maximum = Math.max(maximum, distances[predecessor]);
+            queue[tail++] = predecessor;
+          }
+        }
+      }
+      // the distance from the destination to itself is the shortest cycle through it, if there is one
+      this.maximum = cycle == Integer.MAX_VALUE ? maximum : Math.max(maximum, cycle);
+    }
+  }
+}
@@ -0,0 +1,267 @@
+package org.graphwalker.core.algorithm;
+
+/*
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2014 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.graphwalker.core.machine.Context;
+import org.graphwalker.core.model.Element;
+import org.graphwalker.core.model.Path;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.graphwalker.core.common.Objects.isNotNull;
+import static org.graphwalker.core.common.Objects.isNull;
+import static org.graphwalker.core.model.Edge.RuntimeEdge;
+import static org.graphwalker.core.model.Model.RuntimeModel;
+import static org.graphwalker.core.model.Vertex.RuntimeVertex;
+
+/**
+ * <h1>ChinesePostman</h1>
+ * The ChinesePostman solves the directed <a href="https://en.wikipedia.org/wiki/Chinese_postman_problem">Chinese postman problem</a>.
+ * </p>
+ * It finds the shortest closed walk that covers every edge at least once, also for models that are not
+ * eulerian. Vertices with more in-edges than out-edges, see {@link Eulerian#getPolarities()}, are connected
+ * to vertices with more out-edges than in-edges by duplicating shortest paths between them. Which vertices
+ * to connect is decided by a minimum cost flow, so the total length of the duplicated paths is as small as
+ * possible. The balanced model is then walked with Hierholzer's algorithm.
+ * </p>
+ */
+public class ChinesePostman implements ModelAlgorithm {
+
+  private final RuntimeModel model;
+  private final Eulerian eulerian;
+  private final DistanceOracle distances;
+
+  public ChinesePostman(Context context) {
+    this.model = context.getModel();
+    this.eulerian = context.getAlgorithm(Eulerian.class);
+    this.distances = DistanceOracleFactory.getDistanceOracle(context);
+  }
+
+  /**
+   * Gets the shortest closed walk covering all edges, starting after the given vertex or edge.
+   * </p>
+   * When starting from a vertex the walk begins with one of its out-edges, when starting from an
+   * edge the walk begins with the target vertex of that edge, and the edge itself is only walked
+   * again if that is needed to reach other edges.
+   *
+   * @param element The vertex or edge the walk starts from.
+   * @return The elements of the walk, in the order they are walked.
+   */
+  public Path<Element> getPostmanPath(Element element) {
+    RuntimeEdge excludedEdge = element instanceof RuntimeEdge ? (RuntimeEdge) element : null;
+    RuntimeVertex start = isNull(excludedEdge) ? (RuntimeVertex) element : excludedEdge.getTargetVertex();
+    Map<RuntimeVertex, Integer> polarities = eulerian.getPolarities();
+    Map<RuntimeVertex, Deque<RuntimeEdge>> outEdges = new HashMap<>();
+    int numberOfEdges = 0;
+    for (RuntimeEdge edge : model.getEdges()) {
+      if (isNotNull(edge.getSourceVertex()) && isNotNull(edge.getTargetVertex()) && !edge.equals(excludedEdge)) {
+        addEdge(outEdges, edge);
+        numberOfEdges++;
+      } else {
+        if (isNotNull(edge.getSourceVertex())) {
+          polarities.merge(edge.getSourceVertex(), 1, Integer::sum);
+        }
+        if (isNotNull(edge.getTargetVertex())) {
+          polarities.merge(edge.getTargetVertex(), -1, Integer::sum);
+        }
+      }
+    }
+    for (RuntimeEdge edge : getDuplicatedEdges(polarities)) {
+      addEdge(outEdges, edge);
+      numberOfEdges++;
+    }
+    Path<Element> path = getCircuit(start, outEdges, numberOfEdges);
+    if (isNull(excludedEdge)) {
+      path.removeFirst();
+    }
+    return path;
+  }
+
+  private void addEdge(Map<RuntimeVertex, Deque<RuntimeEdge>> outEdges, RuntimeEdge edge) {
+    Deque<RuntimeEdge> edges = outEdges.get(edge.getSourceVertex());
+    if (isNull(edges)) {
+      edges = new ArrayDeque<>();
+      outEdges.put(edge.getSourceVertex(), edges);
+    }
+    edges.add(edge);
+  }
+
+  private List<RuntimeEdge> getDuplicatedEdges(Map<RuntimeVertex, Integer> polarities) {
+    List<RuntimeVertex> sources = new ArrayList<>();
+    List<RuntimeVertex> targets = new ArrayList<>();
+    for (RuntimeVertex vertex : model.getVertices()) {
+      Integer polarity = polarities.get(vertex);
+      if (isNotNull(polarity) && 0 < polarity) {
+        sources.add(vertex);
+      } else if (isNotNull(polarity) && 0 > polarity) {
+        targets.add(vertex);
+      }
+    }
+    int[] supply = new int[sources.size()];
+    int[] demand = new int[targets.size()];
+    long[][] costs = new long[sources.size()][targets.size()];
+    for (int i = 0; i < sources.size(); i++) {
+      supply[i] = polarities.get(sources.get(i));
+      for (int j = 0; j < targets.size(); j++) {
+        int distance = distances.getShortestDistance(sources.get(i), targets.get(j));
+        costs[i][j] = Integer.MAX_VALUE == distance ? Long.MAX_VALUE : distance;
+      }
+    }
+    for (int j = 0; j < targets.size(); j++) {
+      demand[j] = -polarities.get(targets.get(j));
+    }
+    int[][] flows = getMinimumCostFlow(supply, demand, costs);
+    List<RuntimeEdge> edges = new ArrayList<>();
+    for (int i = 0; i < sources.size(); i++) {
+      for (int j = 0; j < targets.size(); j++) {
+        for (int n = 0; n < flows[i][j]; n++) {
+          addShortestPath(edges, sources.get(i), targets.get(j));
+        }
+      }
+    }
+    return edges;
+  }
+
+  private void addShortestPath(List<RuntimeEdge> edges, RuntimeVertex source, RuntimeVertex target) {
+    Element element = source;
+    while (!element.equals(target)) {
+      element = distances.getNextElement(element, target);
+      if (element instanceof RuntimeEdge) {
+        edges.add((RuntimeEdge) element);
+      }
+    }
+  }
+
+  /**
+   * Sends all supply to the demands along the cheapest routes, using successive shortest paths. The
+   * residual graph has an arc from every source to every target and, where flow has been sent, an arc
+   * back with the negated cost, so the shortest paths are found with Bellman-Ford.
+   */
+  private int[][] getMinimumCostFlow(int[] supply, int[] demand, long[][] costs) {
+    int sources = supply.length;
+    int targets = demand.length;
+    int[][] flows = new int[sources][targets];
+    long[] distance = new long[sources + targets];
+    int[] parent = new int[sources + targets];
+    int remaining = Arrays.stream(supply).sum();
+    while (0 < remaining) {
+      Arrays.fill(distance, Long.MAX_VALUE);
+      Arrays.fill(parent, -1);
+      for (int i = 0; i < sources; i++) {
+        if (0 < supply[i]) {
+          distance[i] = 0;
+        }
+      }
+      for (boolean changed = true; changed; ) {
+        changed = false;
+        for (int i = 0; i < sources; i++) {
+          for (int j = 0; j < targets && Long.MAX_VALUE != distance[i]; j++) {
+            if (Long.MAX_VALUE != costs[i][j] && distance[i] + costs[i][j] < distance[sources + j]) {
+              distance[sources + j] = distance[i] + costs[i][j];
+              parent[sources + j] = i;
+              changed = true;
+            }
+          }
+        }
+        for (int j = 0; j < targets; j++) {
+          for (int i = 0; i < sources && Long.MAX_VALUE != distance[sources + j]; i++) {
+            if (0 < flows[i][j] && distance[sources + j] - costs[i][j] < distance[i]) {
+              distance[i] = distance[sources + j] - costs[i][j];
+              parent[i] = sources + j;
+              changed = true;
+            }
+          }
+        }
+      }
+      int target = -1;
+      for (int j = 0; j < targets; j++) {
+        if (0 < demand[j] && Long.MAX_VALUE != distance[sources + j]
+            && (-1 == target || distance[sources + j] < distance[sources + target])) {
+          target = j;
+        }
+      }
+      if (-1 == target) {
+        throw new AlgorithmException("The model is not strongly connected, no closed path can cover the entire graph");
+      }
+      int amount = demand[target];
+      int node = sources + target;
+      while (-1 != parent[node]) {
+        int previous = parent[node];
+        if (node >= sources) {
+          node = previous;
+        } else {
+          amount = Math.min(amount, flows[node][previous - sources]);
+          node = previous;
+        }
+      }
+      amount = Math.min(amount, supply[node]);
+      node = sources + target;
+      while (-1 != parent[node]) {
+        int previous = parent[node];
+        if (node >= sources) {
+          flows[previous][node - sources] += amount;
+        } else {
+          flows[node][previous - sources] -= amount;
+        }
+        node = previous;
+      }
+      supply[node] -= amount;
+      demand[target] -= amount;
+      remaining -= amount;
+    }
+    return flows;
+  }
+
+  private Path<Element> getCircuit(RuntimeVertex start, Map<RuntimeVertex, Deque<RuntimeEdge>> outEdges, int numberOfEdges) {
+    Path<Element> circuit = new Path<>();
+    Deque<Element> stack = new ArrayDeque<>();
+    stack.push(start);
+    while (!stack.isEmpty()) {
+      Element element = stack.peek();
+      if (element instanceof RuntimeVertex) {
+        Deque<RuntimeEdge> edges = outEdges.get(element);
+        if (isNotNull(edges) && !edges.isEmpty()) {
+          RuntimeEdge edge = edges.removeFirst();
+          stack.push(edge);
+          stack.push(edge.getTargetVertex());
+          continue;
+        }
+      }
+      circuit.addFirst(stack.pop());
+    }
+    if (circuit.size() != 2 * numberOfEdges + 1) {
+      throw new AlgorithmException("Not all edges can be reached from vertex " + start.getName() + ", no closed path can cover the entire graph");
+    }
+    return circuit;
+  }
+}
@@ -27,61 +27,47 @@ package org.graphwalker.core.algorithm;
  */
 
 import org.graphwalker.core.machine.Context;
+import org.graphwalker.core.model.Adjacency;
 import org.graphwalker.core.model.Element;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.graphwalker.core.common.Objects.unmodifiableList;
-import static org.graphwalker.core.model.Edge.RuntimeEdge;
-import static org.graphwalker.core.model.Vertex.RuntimeVertex;
+import static org.graphwalker.core.model.Model.RuntimeModel;
 
 /**
  * @author Nils Olsson
  */
-public class DepthFirstSearch implements Algorithm {
+public class DepthFirstSearch implements ModelAlgorithm {
 
-  private final Context context;
+  private final RuntimeModel model;
 
   public DepthFirstSearch(Context context) {
-    this.context = context;
+    this.model = context.getModel();
   }
 
   public List<Element> getConnectedComponent(Element root) {
-    return createConnectedComponent(createElementStatusMap(context.getModel().getElements()), root);
-  }
-
-  private Map<Element, ElementStatus> createElementStatusMap(List<Element> elements) {
-    Map<Element, ElementStatus> elementStatusMap = new HashMap<>();
-    for (Element element : elements) {
-      elementStatusMap.put(element, ElementStatus.UNREACHABLE);
-    }
-    return elementStatusMap;
-  }
-
-  private List<Element> createConnectedComponent(Map<Element, ElementStatus> elementStatusMap, Element root) {
     List<Element> connectedComponent = new ArrayList<>();
-    Deque<Element> stack = new ArrayDeque<>();
-    stack.push(root);
-    while (!stack.isEmpty()) {
-      Element element = stack.pop();
-      if (ElementStatus.UNREACHABLE.equals(elementStatusMap.get(element))) {
-        connectedComponent.add(element);
-        elementStatusMap.put(element, ElementStatus.REACHABLE);
-        if (element instanceof RuntimeVertex) {
-          RuntimeVertex vertex = (RuntimeVertex) element;
-          for (RuntimeEdge edge : context.getModel().getOutEdges(vertex)) {
-            stack.push(edge);
-          }
-        } else if (element instanceof RuntimeEdge) {
-          RuntimeEdge edge = (RuntimeEdge) element;
-          stack.push(edge.getTargetVertex());
+    int index = model.getIndex(root);
+    if (-1 == index) {
+      return unmodifiableList(connectedComponent);
+    }
+    Adjacency adjacency = model.getAdjacency();
+    boolean[] reachable = new boolean[adjacency.size()];
+    int[] stack = new int[adjacency.size() + adjacency.getOffset(adjacency.size())];
+    int top = 0;
+    stack[top++] = index;
+    while (top > 0) {
+      int element = stack[--top];
+      if (!reachable[element]) {
+        connectedComponent.add(model.getElements().get(element));
+        reachable[element] = true;
+        for (int position = adjacency.getOffset(element); position < adjacency.getOffset(element + 1); position++) {
+          stack[top++] = adjacency.getTarget(position);
         }
       }
     }
     return unmodifiableList(connectedComponent);
   }
-
-  private enum ElementStatus {
-    UNREACHABLE, REACHABLE
-  }
 }
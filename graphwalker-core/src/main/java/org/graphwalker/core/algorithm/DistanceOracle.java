@@ -0,0 +1,65 @@
+package org.graphwalker.core.algorithm;
+
+/*
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2014 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.graphwalker.core.model.Element;
+
+/**
+ * <h1>DistanceOracle</h1>
+ * A DistanceOracle answers shortest distance queries between elements in a model.
+ * </p>
+ * All edges and vertices are elements, and every step from an element to one of its successors
+ * has the length 1. Use {@link DistanceOracleFactory#getDistanceOracle} to get the implementation
+ * best suited for the size of the model.
+ * </p>
+ */
+public interface DistanceOracle extends Algorithm {
+
+  int getShortestDistance(Element origin, Element destination);
+
+  int getMaximumDistance(Element destination);
+
+  /**
+   * Gets the shortest distance between two elements given by their index in the model, see
+   * {@link org.graphwalker.core.model.Model.RuntimeModel#getIndex(Element)}.
+   */
+  int getShortestDistance(int origin, int destination);
+
+  /**
+   * Gets the maximum distance to an element given by its index in the model.
+   */
+  int getMaximumDistance(int destination);
+
+  /**
+   * Gets the element to step to from origin, in order to follow a shortest path to destination.
+   *
+   * @param origin      The element to start from.
+   * @param destination The element to reach.
+   * @return The next element on a shortest path, or null if destination can't be reached from origin.
+   */
+  Element getNextElement(Element origin, Element destination);
+}
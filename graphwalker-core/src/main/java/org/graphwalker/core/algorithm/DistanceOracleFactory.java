@@ -0,0 +1,56 @@
+package org.graphwalker.core.algorithm;
+
+/*
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2014 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.graphwalker.core.machine.Context;
+
+/**
+ * <h1>DistanceOracleFactory</h1>
+ * The DistanceOracleFactory picks the {@link DistanceOracle} to use for a context.
+ * </p>
+ * Models up to {@value #DEFAULT_THRESHOLD} elements use {@link FloydWarshall}, which answers every
+ * query from precomputed matrices but needs memory and time growing with the square and cube of the
+ * model size. Larger models use {@link BreadthFirstSearch}, which computes distances on demand.
+ * The threshold can be changed with the system property {@value #THRESHOLD}.
+ * </p>
+ */
+public abstract class DistanceOracleFactory {
+
+  public static final String THRESHOLD = "graphwalker.distance.threshold";
+  public static final int DEFAULT_THRESHOLD = 2000;
+
+  public static int getThreshold() {
+    return Integer.getInteger(THRESHOLD, DEFAULT_THRESHOLD);
+  }
+
+  public static DistanceOracle getDistanceOracle(Context context) {
+    if (context.getModel().getElements().size() > getThreshold()) {
+      return context.getAlgorithm(BreadthFirstSearch.class);
+    }
+    return context.getAlgorithm(FloydWarshall.class);
+  }
+}
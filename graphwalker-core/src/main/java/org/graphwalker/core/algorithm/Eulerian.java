@@ -31,22 +31,31 @@ import org.graphwalker.core.model.Element;
 import org.graphwalker.core.model.Path;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static org.graphwalker.core.model.Edge.RuntimeEdge;
+import static org.graphwalker.core.model.Model.RuntimeModel;
 import static org.graphwalker.core.model.Vertex.RuntimeVertex;
 
 /**
  * @author Nils Olsson
  */
-public class Eulerian implements Algorithm {
+public class Eulerian implements ModelAlgorithm {
 
-  private final Context context;
+  private final RuntimeModel model;
+  private final Hierholzer hierholzer;
   private final Map<RuntimeVertex, PolarityCounter> polarities;
 
   public Eulerian(Context context) {
-    this.context = context;
-    this.polarities = new HashMap<>(context.getModel().getVertices().size());
+    this.model = context.getModel();
+    this.hierholzer = context.getAlgorithm(Hierholzer.class);
+    this.polarities = new HashMap<>(model.getVertices().size());
     polarize();
   }
 
@@ -55,11 +64,11 @@ public class Eulerian implements Algorithm {
   }
 
   private void polarize() {
-    for (RuntimeEdge edge : context.getModel().getEdges()) {
+    for (RuntimeEdge edge : model.getEdges()) {
       getPolarityCounter(edge.getSourceVertex()).decrease();
       getPolarityCounter(edge.getTargetVertex()).increase();
     }
-    for (RuntimeVertex vertex : context.getModel().getVertices()) {
+    for (RuntimeVertex vertex : model.getVertices()) {
       if (!polarities.get(vertex).hasPolarity()) {
         polarities.remove(vertex);
       }
@@ -83,11 +92,66 @@ public class Eulerian implements Algorithm {
     return EulerianType.NOT_EULERIAN;
   }
 
+  /**
+   * Gets the polarity of all vertices that have one, that is the number of in-edges minus
+   * the number of out-edges.
+   *
+   * @return A modifiable copy of the polarities.
+   */
+  public Map<RuntimeVertex, Integer> getPolarities() {
+    Map<RuntimeVertex, Integer> polarities = new HashMap<>();
+    for (Map.Entry<RuntimeVertex, PolarityCounter> entry : this.polarities.entrySet()) {
+      if (null != entry.getKey()) {
+        polarities.put(entry.getKey(), entry.getValue().getPolarity());
+      }
+    }
+    return polarities;
+  }
+
   public Path<Element> getEulerPath(Element element) {
+    return getEulerStream(element).collect(Collectors.toCollection(Path::new));
+  }
+
+  /**
+   * Gets the same trail as {@link #getEulerPath(Element)}, but computes it while it's consumed.
+   *
+   * @param element The vertex or edge the trail starts from.
+   * @return The elements of the trail, in the order they are walked.
+   */
+  public Stream<Element> getEulerStream(Element element) {
     if (EulerianType.NOT_EULERIAN.equals(getEulerianType())) {
       throw new AlgorithmException("The model is not eulerian or semi eulerian, no single path can cover the entire graph");
     }
-    return context.getAlgorithm(Fleury.class).getTrail(element);
+    Spliterator<Element> spliterator = Spliterators.spliteratorUnknownSize(
+      getTrail(element), Spliterator.ORDERED | Spliterator.NONNULL);
+    return StreamSupport.stream(spliterator, false);
+  }
+
+  private Iterator<Element> getTrail(Element element) {
+    Map<RuntimeVertex, Integer> balance = getPolarities();
+    RuntimeVertex start;
+    if (element instanceof RuntimeEdge) {
+      RuntimeEdge edge = (RuntimeEdge) element;
+      start = edge.getTargetVertex();
+      balance.merge(edge.getSourceVertex(), 1, Integer::sum);
+      balance.merge(edge.getTargetVertex(), -1, Integer::sum);
+    } else {
+      start = (RuntimeVertex) element;
+    }
+    RuntimeVertex end = start;
+    int unbalanced = 0;
+    for (Map.Entry<RuntimeVertex, Integer> entry : balance.entrySet()) {
+      if (null != entry.getKey() && 0 != entry.getValue()) {
+        unbalanced++;
+        if (1 == entry.getValue()) {
+          end = entry.getKey();
+        }
+      }
+    }
+    if (0 != unbalanced && (2 != unbalanced || end.equals(start) || !Integer.valueOf(-1).equals(balance.get(start)))) {
+      throw new AlgorithmException("No single path starting from " + start.getName() + " can cover the entire graph");
+    }
+    return hierholzer.getTrail(element);
   }
 
   class PolarityCounter {
@@ -43,12 +43,12 @@ import static org.graphwalker.core.model.Vertex.RuntimeVertex;
 /**
  * @author Nils Olsson
  */
-public class Fleury implements Algorithm {
+public class Fleury implements ModelAlgorithm {
 
-  private final Context context;
+  private final RuntimeModel model;
 
   public Fleury(Context context) {
-    this.context = context;
+    this.model = context.getModel();
   }
 
   public Path<Element> getTrail(Element element) {
@@ -68,11 +68,11 @@ public class Fleury implements Algorithm {
     // Step 1
     Path<Element> trail = new Path<>();
     RuntimeVertex currentVertex = vertex;
-    List<RuntimeEdge> availableEdges = new ArrayList<>(context.getModel().getEdges());
+    List<RuntimeEdge> availableEdges = new ArrayList<>(model.getEdges());
     availableEdges.removeAll(visitedEdges);
     while (!availableEdges.isEmpty()) {
       // Step 2
-      RuntimeEdge edge = getNextEdge(context.getModel(), visitedEdges, currentVertex);
+      RuntimeEdge edge = getNextEdge(model, visitedEdges, currentVertex);
       // Step 3
       trail.add(edge);
       visitedEdges.add(edge);
@@ -27,85 +27,128 @@ package org.graphwalker.core.algorithm;
  */
 
 import org.graphwalker.core.machine.Context;
+import org.graphwalker.core.model.Adjacency;
 import org.graphwalker.core.model.Element;
 
 import java.util.Arrays;
-import java.util.List;
 
-import static org.graphwalker.core.model.Edge.RuntimeEdge;
 import static org.graphwalker.core.model.Model.RuntimeModel;
-import static org.graphwalker.core.model.Vertex.RuntimeVertex;
 
 /**
+ * <h1>FloydWarshall</h1>
+ * The FloydWarshall algorithm calculates the shortest distance between all pairs of elements in a model.
+ * </p>
+ * Elements are addressed by their index in the model, see {@link RuntimeModel#getIndex(Element)}.
+ * Besides the distance matrix a next hop matrix is kept, so both the distance and the first step
+ * on a shortest path can be looked up in constant time.
+ * </p>
+ *
  * @author Nils Olsson
  */
-public class FloydWarshall implements Algorithm {
+public class FloydWarshall implements DistanceOracle, ModelAlgorithm {
+
+  private static final int NO_PATH = -1;
 
   private final RuntimeModel model;
   private final int[][] distances;
+  private final int[][] nextHops;
+  private final int[] maximumDistances;
 
   public FloydWarshall(Context context) {
     this.model = context.getModel();
-    this.distances = createDistanceMatrix(model, model.getElements());
-    createPredecessorMatrix(model.getElements(), distances);
+    int size = model.getElements().size();
+    this.distances = new int[size][size];
+    this.nextHops = new int[size][size];
+    createMatrices(model.getAdjacency());
+    this.maximumDistances = createMaximumDistances(size);
   }
 
-  private int[][] createDistanceMatrix(RuntimeModel model, List<Element> elements) {
-    int[][] distances = new int[elements.size()][elements.size()];
-    for (int[] row : distances) {
-      Arrays.fill(row, Integer.MAX_VALUE);
-    }
-    for (Element element : elements) {
-      if (element instanceof RuntimeEdge) {
-        RuntimeEdge edge = (RuntimeEdge) element;
-        RuntimeVertex target = edge.getTargetVertex();
-        distances[elements.indexOf(edge)][elements.indexOf(target)] = 1;
-      } else if (element instanceof RuntimeVertex) {
-        RuntimeVertex vertex = (RuntimeVertex) element;
-        for (RuntimeEdge edge : model.getOutEdges(vertex)) {
-          distances[elements.indexOf(vertex)][elements.indexOf(edge)] = 1;
-        }
+  private void createMatrices(Adjacency adjacency) {
+    int size = adjacency.size();
+    for (int i = 0; i < size; i++) {
+      Arrays.fill(distances[i], Integer.MAX_VALUE);
+      Arrays.fill(nextHops[i], NO_PATH);
+      for (int position = adjacency.getOffset(i); position < adjacency.getOffset(i + 1); position++) {
+        int j = adjacency.getTarget(position);
+        distances[i][j] = 1;
+        nextHops[i][j] = j;
       }
     }
-    return distances;
-  }
-
-  private Element[][] createPredecessorMatrix(List<Element> elements, int[][] distances) {
-    Element[][] predecessors = new Element[elements.size()][elements.size()];
-    int size = elements.size();
     for (int k = 0; k < size; k++) {
+      int[] distancesK = distances[k];
       for (int i = 0; i < size; i++) {
+        int[] distancesI = distances[i];
+        int distanceIK = distancesI[k];
+        if (distanceIK == Integer.MAX_VALUE) {
+          continue;
+        }
+        int[] nextHopsI = nextHops[i];
         for (int j = 0; j < size; j++) {
-          if (distances[i][k] != Integer.MAX_VALUE
-              && distances[k][j] != Integer.MAX_VALUE
-              && distances[i][k] + distances[k][j] < distances[i][j]) {
-            distances[i][j] = distances[i][k] + distances[k][j];
-            predecessors[i][j] = elements.get(k);
+          int distanceKJ = distancesK[j];
+          if (distanceKJ != Integer.MAX_VALUE && distanceIK + distanceKJ < distancesI[j]) {
+            distancesI[j] = distanceIK + distanceKJ;
+            nextHopsI[j] = nextHopsI[k];
           }
         }
       }
     }
-    return predecessors;
   }
 
+  private int[] createMaximumDistances(int size) {
+    int[] maximumDistances = new int[size];
+    Arrays.fill(maximumDistances, Integer.MIN_VALUE);
+    for (int[] row : distances) {
+      for (int j = 0; j < size; j++) {
+        if (row[j] != Integer.MAX_VALUE && row[j] > maximumDistances[j]) {
+          maximumDistances[j] = row[j];
+        }
+      }
+    }
+    return maximumDistances;
+  }
+
+  @Override
   public int getShortestDistance(Element origin, Element destination) {
-    if (!model.getElements().contains(destination)) {
+    int destinationIndex = model.getIndex(destination);
+    if (destinationIndex == NO_PATH) {
       return Integer.MAX_VALUE;
     } else if (origin.equals(destination)) {
       return 0;
-    } else {
-      return distances[model.getElements().indexOf(origin)][model.getElements().indexOf(destination)];
     }
+    int originIndex = model.getIndex(origin);
+    if (originIndex == NO_PATH) {
+      return Integer.MAX_VALUE;
+    }
+    return getShortestDistance(originIndex, destinationIndex);
   }
 
+  @Override
   public int getMaximumDistance(Element destination) {
-    int maximumDistance = Integer.MIN_VALUE;
-    for (int[] distance : distances) {
-      int value = distance[model.getElements().indexOf(destination)];
-      if (value != Integer.MAX_VALUE && value > maximumDistance) {
-        maximumDistance = value;
-      }
+    int destinationIndex = model.getIndex(destination);
+    if (destinationIndex == NO_PATH) {
+      return Integer.MIN_VALUE;
+    }
+    return getMaximumDistance(destinationIndex);
+  }
+
+  @Override
+  public int getShortestDistance(int origin, int destination) {
+    return origin == destination ? 0 : distances[origin][destination];
+  }
+
+  @Override
+  public int getMaximumDistance(int destination) {
+    return maximumDistances[destination];
+  }
+
+  @Override
+  public Element getNextElement(Element origin, Element destination) {
+    int originIndex = model.getIndex(origin);
+    int destinationIndex = model.getIndex(destination);
+    if (originIndex == NO_PATH || destinationIndex == NO_PATH) {
+      return null;
     }
-    return maximumDistance;
+    int nextHop = nextHops[originIndex][destinationIndex];
+    return nextHop == NO_PATH ? null : model.getElements().get(nextHop);
   }
 }
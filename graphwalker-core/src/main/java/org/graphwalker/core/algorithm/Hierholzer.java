@@ -0,0 +1,168 @@
+package org.graphwalker.core.algorithm;
+
+/*
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2014 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.graphwalker.core.machine.Context;
+import org.graphwalker.core.model.Element;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.graphwalker.core.common.Objects.isNull;
+import static org.graphwalker.core.model.Edge.RuntimeEdge;
+import static org.graphwalker.core.model.Model.RuntimeModel;
+import static org.graphwalker.core.model.Vertex.RuntimeVertex;
+
+/**
+ * <h1>Hierholzer</h1>
+ * The Hierholzer implements <a href="https://en.wikipedia.org/wiki/Eulerian_path#Hierholzer's_algorithm">Hierholzer's algorithm</a>
+ * for finding a trail that walks every edge in the model exactly once.
+ * </p>
+ * A first walk is made from the start, always taking the first unused out-edge, until it gets stuck.
+ * The trail is then handed out element by element, and whenever a vertex that still has unused
+ * out-edges is reached, a closed walk from that vertex is spliced in before continuing. Every edge is
+ * taken once, so the whole trail is produced in time linear to the size of the model.
+ * </p>
+ */
+public class Hierholzer implements ModelAlgorithm {
+
+  private final RuntimeModel model;
+
+  public Hierholzer(Context context) {
+    this.model = context.getModel();
+  }
+
+  /**
+   * Gets the trail that covers all edges, starting after the given vertex or edge.
+   * </p>
+   * When starting from a vertex the trail begins with one of its out-edges, when starting from an
+   * edge the trail begins with the target vertex of that edge, and the edge itself is not walked again.
+   *
+   * @param element The vertex or edge the trail starts from.
+   * @return The elements of the trail, in the order they are walked.
+   */
+  public Iterator<Element> getTrail(Element element) {
+    if (element instanceof RuntimeEdge) {
+      RuntimeEdge edge = (RuntimeEdge) element;
+      return new TrailIterator(edge.getTargetVertex(), edge, true);
+    }
+    return new TrailIterator((RuntimeVertex) element, null, false);
+  }
+
+  private final class TrailIterator implements Iterator<Element> {
+
+    private final RuntimeVertex start;
+    private final RuntimeEdge excludedEdge;
+    private final Deque<Element> trail = new ArrayDeque<>();
+    private final Map<RuntimeVertex, Iterator<RuntimeEdge>> outEdges = new HashMap<>();
+    private int remainingEdges;
+
+    private TrailIterator(RuntimeVertex start, RuntimeEdge excludedEdge, boolean includeStart) {
+      this.start = start;
+      this.excludedEdge = excludedEdge;
+      this.remainingEdges = countEdges();
+      trail.add(start);
+      walk(start, trail);
+      if (!includeStart) {
+        next();
+      }
+    }
+
+    private int countEdges() {
+      int count = 0;
+      for (RuntimeEdge edge : model.getEdges()) {
+        if (isWalkable(edge)) {
+          count++;
+        }
+      }
+      return count;
+    }
+
+    private boolean isWalkable(RuntimeEdge edge) {
+      return !isNull(edge.getSourceVertex()) && !isNull(edge.getTargetVertex()) && !edge.equals(excludedEdge);
+    }
+
+    private void walk(RuntimeVertex vertex, Deque<Element> walk) {
+      for (RuntimeEdge edge = nextOutEdge(vertex); !isNull(edge); edge = nextOutEdge(vertex)) {
+        remainingEdges--;
+        vertex = edge.getTargetVertex();
+        walk.add(edge);
+        walk.add(vertex);
+      }
+    }
+
+    private void splice() {
+      Element element = trail.getFirst();
+      if (element instanceof RuntimeVertex) {
+        Deque<Element> circuit = new ArrayDeque<>();
+        walk((RuntimeVertex) element, circuit);
+        trail.removeFirst();
+        while (!circuit.isEmpty()) {
+          trail.addFirst(circuit.removeLast());
+        }
+        trail.addFirst(element);
+      }
+    }
+
+    private RuntimeEdge nextOutEdge(RuntimeVertex vertex) {
+      Iterator<RuntimeEdge> iterator = outEdges.get(vertex);
+      if (isNull(iterator)) {
+        iterator = model.getOutEdges(vertex).iterator();
+        outEdges.put(vertex, iterator);
+      }
+      while (iterator.hasNext()) {
+        RuntimeEdge edge = iterator.next();
+        if (isWalkable(edge)) {
+          return edge;
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !trail.isEmpty();
+    }
+
+    @Override
+    public Element next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      splice();
+      Element element = trail.removeFirst();
+      if (trail.isEmpty() && 0 < remainingEdges) {
+        throw new AlgorithmException("Not all edges can be reached from vertex " + start.getName() + ", no single path can cover the entire graph");
+      }
+      return element;
+    }
+  }
+}
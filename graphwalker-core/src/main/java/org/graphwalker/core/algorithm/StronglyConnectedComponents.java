@@ -0,0 +1,248 @@
+package org.graphwalker.core.algorithm;
+
+/*
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2014 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.graphwalker.core.machine.Context;
+import org.graphwalker.core.model.Adjacency;
+import org.graphwalker.core.model.Element;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.graphwalker.core.common.Objects.isNull;
+import static org.graphwalker.core.common.Objects.unmodifiableList;
+import static org.graphwalker.core.model.Model.RuntimeModel;
+
+/**
+ * <h1>StronglyConnectedComponents</h1>
+ * The StronglyConnectedComponents algorithm splits a model into its strongly connected components.
+ * </p>
+ * Every element in a component can reach every other element in the same component. The components are
+ * found once per model with Tarjan's algorithm, after that the component of an element, and whether one
+ * element can reach another, are answered in constant time. The reachability between components is
+ * computed the first time it is asked for.
+ * </p>
+ */
+public class StronglyConnectedComponents implements ModelAlgorithm {
+
+  private static final int UNVISITED = -1;
+
+  private final RuntimeModel model;
+  private final Adjacency successors;
+  private final int[] components;
+  private final List<List<Element>> componentElements;
+  private final boolean[] sinks;
+  private BitSet[] reachable;
+
+  public StronglyConnectedComponents(Context context) {
+    this.model = context.getModel();
+    this.successors = model.getAdjacency();
+    this.components = new int[successors.size()];
+    this.componentElements = new ArrayList<>();
+    createComponents();
+    this.sinks = createSinks();
+  }
+
+  /**
+   * Tarjan's algorithm, with an explicit call stack so that long chains in large models can't overflow
+   * the thread stack. Components are numbered in the order they are completed, which makes the
+   * numbering a reverse topological order of the condensation.
+   */
+  private void createComponents() {
+    List<Element> elements = model.getElements();
+    int size = successors.size();
+    int[] order = new int[size];
+    int[] low = new int[size];
+    boolean[] onStack = new boolean[size];
+    int[] stack = new int[size];
+    int[] calls = new int[size];
+    int[] positions = new int[size];
+    Arrays.fill(order, UNVISITED);
+    int counter = 0, top = 0;
+    for (int root = 0; root < size; root++) {
+      if (order[root] != UNVISITED) {
+        continue;
+      }
+      int depth = 0;
+      order[root] = low[root] = counter++;
+      stack[top++] = root;
+      onStack[root] = true;
+      calls[depth] = root;
+      positions[depth++] = 0;
+      while (depth > 0) {
+        int element = calls[depth - 1];
+        if (positions[depth - 1] < successors.getDegree(element)) {
+          int successor = successors.getTarget(successors.getOffset(element) + positions[depth - 1]++);
+          if (order[successor] == UNVISITED) {
+            order[successor] = low[successor] = counter++;
+            stack[top++] = successor;
+            onStack[successor] = true;
+            calls[depth] = successor;
+            positions[depth++] = 0;
+          } else if (onStack[successor]) {
+            low[element] = Math.min(low[element], order[successor]);
+          }
+        } else {
+          depth--;
+          if (depth > 0) {
+            int caller = calls[depth - 1];
+            low[caller] = Math.min(low[caller], low[element]);
+          }
+          if (low[element] == order[element]) {
+            int component = componentElements.size();
+            List<Element> members = new ArrayList<>();
+            int member;
+            do {
+              member = stack[--top];
+              onStack[member] = false;
+              components[member] = component;
+              members.add(elements.get(member));
+            } while (member != element);
+            componentElements.add(unmodifiableList(members));
+          }
+        }
+      }
+    }
+  }
+
+  private boolean[] createSinks() {
+    boolean[] sinks = new boolean[componentElements.size()];
+    Arrays.fill(sinks, true);
+    for (int element = 0; element < successors.size(); element++) {
+      for (int position = successors.getOffset(element); position < successors.getOffset(element + 1); position++) {
+        if (components[element] != components[successors.getTarget(position)]) {
+          sinks[components[element]] = false;
+        }
+      }
+    }
+    return sinks;
+  }
+
+  private synchronized BitSet[] getReachable() {
+    if (isNull(reachable)) {
+      BitSet[] closure = new BitSet[componentElements.size()];
+      for (int component = 0; component < closure.length; component++) {
+        closure[component] = new BitSet(closure.length);
+        closure[component].set(component);
+      }
+      // successor components always have a lower number, so they are complete when they are merged
+      for (int component = 0; component < closure.length; component++) {
+        for (Element element : componentElements.get(component)) {
+          int index = model.getIndex(element);
+          for (int position = successors.getOffset(index); position < successors.getOffset(index + 1); position++) {
+            int successor = successors.getTarget(position);
+            if (components[successor] != component) {
+              closure[component].or(closure[components[successor]]);
+            }
+          }
+        }
+      }
+      reachable = closure;
+    }
+    return reachable;
+  }
+
+  /**
+   * Gets the number of strongly connected components in the model.
+   */
+  public int getComponentCount() {
+    return componentElements.size();
+  }
+
+  /**
+   * Gets the number of the component that the element belongs to, or -1 if the element isn't part of the model.
+   */
+  public int getComponent(Element element) {
+    int index = model.getIndex(element);
+    return index == -1 ? -1 : components[index];
+  }
+
+  /**
+   * Gets all the elements of the given component.
+   */
+  public List<Element> getElements(int component) {
+    return componentElements.get(component);
+  }
+
+  /**
+   * Returns true if the whole model is one strongly connected component.
+   */
+  public boolean isStronglyConnected() {
+    return 1 >= componentElements.size();
+  }
+
+  /**
+   * Returns true if both elements belong to the same component, i.e. they can reach each other.
+   */
+  public boolean isStronglyConnected(Element first, Element second) {
+    int component = getComponent(first);
+    return -1 != component && component == getComponent(second);
+  }
+
+  /**
+   * Returns true if the component of the element has no way out of it. A path that has entered a sink
+   * will never reach any element outside of it.
+   */
+  public boolean isSink(Element element) {
+    int component = getComponent(element);
+    return -1 != component && sinks[component];
+  }
+
+  /**
+   * Returns true if there is a path from the origin to the destination.
+   */
+  public boolean isReachable(Element origin, Element destination) {
+    int originComponent = getComponent(origin);
+    int destinationComponent = getComponent(destination);
+    if (-1 == originComponent || -1 == destinationComponent) {
+      return false;
+    }
+    return originComponent == destinationComponent || getReachable()[originComponent].get(destinationComponent);
+  }
+
+  /**
+   * Gets the elements that can't be reached from any of the given elements.
+   */
+  public List<Element> getUnreachableElements(List<? extends Element> roots) {
+    BitSet reached = new BitSet(componentElements.size());
+    for (Element root : roots) {
+      int component = getComponent(root);
+      if (-1 != component) {
+        reached.or(getReachable()[component]);
+      }
+    }
+    List<Element> unreachable = new ArrayList<>();
+    for (Element element : model.getElements()) {
+      if (!reached.get(getComponent(element))) {
+        unreachable.add(element);
+      }
+    }
+    return unmodifiableList(unreachable);
+  }
+}
@@ -28,9 +28,7 @@ package org.graphwalker.core.condition;
 
 import org.graphwalker.core.machine.Context;
 
-import java.util.List;
-
-import static org.graphwalker.core.model.Edge.RuntimeEdge;
+import static org.graphwalker.core.model.Model.RuntimeModel;
 
 /**
  * <h1>DependencyEdgeCoverage</h1> The DependencyEdgeCoverage stop condition is fulfilled
@@ -42,6 +40,9 @@ import static org.graphwalker.core.model.Edge.RuntimeEdge;
  */
 public class DependencyEdgeCoverage extends DependencyCoverageStopConditionBase {
 
+  private RuntimeModel countedModel;
+  private long dependencyEdgesCount;
+
   public DependencyEdgeCoverage(int dependency) {
     super(dependency);
   }
@@ -54,15 +55,20 @@ public class DependencyEdgeCoverage extends DependencyCoverageStopConditionBase
   @Override
   public double getFulfilment() {
     Context context = getContext();
-    List<RuntimeEdge> edges = getContext().getModel().getEdges();
-    long totalDependencyEdgesCount = edges.stream()
-      .filter(edge -> edge.getDependencyAsDouble() >= super.getDependencyAsDouble()).count();
+    long totalDependencyEdgesCount = getDependencyEdgesCount(context.getModel());
     if (totalDependencyEdgesCount != 0) {
-      long visitedDependencyEdgesCount = edges.stream()
-        .filter(edge -> edge.getDependencyAsDouble() >= super.getDependencyAsDouble())
-        .filter(edge -> context.getProfiler().isVisited(context, edge)).count();
+      long visitedDependencyEdgesCount = context.getProfiler().getVisitedEdgeCount(context, getDependency());
       return ((double) visitedDependencyEdgesCount / totalDependencyEdgesCount);
     }
     return 0;
   }
+
+  private long getDependencyEdgesCount(RuntimeModel model) {
+    if (model != countedModel) {
+      dependencyEdgesCount = model.getEdges().stream()
+        .filter(edge -> edge.getDependencyAsDouble() >= super.getDependencyAsDouble()).count();
+      countedModel = model;
+    }
+    return dependencyEdgesCount;
+  }
 }
@@ -51,8 +51,7 @@ public class EdgeCoverage extends CoverageStopConditionBase {
   public double getFulfilment() {
     Context context = getContext();
     long totalEdgesCount = context.getModel().getEdges().size();
-    long visitedEdgesCount = context.getModel().getEdges().stream()
-      .filter(edge -> context.getProfiler().isVisited(context, edge)).count();
+    long visitedEdgesCount = context.getProfiler().getVisitedEdgeCount(context);
     return ((double) visitedEdgesCount / totalEdgesCount) / getPercentAsDouble();
   }
 }
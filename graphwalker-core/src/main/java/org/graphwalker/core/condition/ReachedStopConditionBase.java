@@ -26,19 +26,34 @@ package org.graphwalker.core.condition;
  * #L%
  */
 
-import org.graphwalker.core.algorithm.FloydWarshall;
+import org.graphwalker.core.algorithm.DistanceOracle;
+import org.graphwalker.core.algorithm.DistanceOracleFactory;
 import org.graphwalker.core.machine.Context;
 import org.graphwalker.core.model.Element;
 
+import java.util.Arrays;
+import java.util.Set;
+
 import static org.graphwalker.core.common.Objects.isNotNull;
 import static org.graphwalker.core.common.Objects.isNull;
+import static org.graphwalker.core.model.Model.RuntimeModel;
 
 /**
+ * <h1>ReachedStopConditionBase</h1>
+ * The ReachedStopConditionBase measures how close the current element is to the nearest target.
+ * </p>
+ * The targets, and the maximum distance to each of them, only depend on the model. They are resolved
+ * once per model, after that every step is a distance lookup per target.
+ * </p>
+ *
  * @author Nils Olsson
  */
 public abstract class ReachedStopConditionBase extends StopConditionBase implements ReachedStopCondition {
 
   private boolean fulfilled = false;
+  private RuntimeModel targetModel;
+  private int[] targetIndices;
+  private int[] maximumDistances;
 
   protected ReachedStopConditionBase(String value) {
     super(value);
@@ -48,6 +63,7 @@ public abstract class ReachedStopConditionBase extends StopConditionBase impleme
   public void setContext(Context context) {
     super.setContext(context);
     validate(context);
+    targetModel = null;
   }
 
   protected void validate(Context context) {
@@ -69,16 +85,39 @@ public abstract class ReachedStopConditionBase extends StopConditionBase impleme
     Context context = getContext();
     double maxFulfilment = 0;
     if (isNotNull(context.getCurrentElement())) {
-      FloydWarshall floydWarshall = context.getAlgorithm(FloydWarshall.class);
-      for (Element target : getTargetElements()) {
-        int distance = floydWarshall.getShortestDistance(context.getCurrentElement(), target);
-        int max = floydWarshall.getMaximumDistance(target);
-        double fulfilment = 1 - (double) distance / max;
-        if (maxFulfilment < fulfilment) {
-          maxFulfilment = fulfilment;
+      DistanceOracle distances = DistanceOracleFactory.getDistanceOracle(context);
+      resolveTargets(context.getModel(), distances);
+      int origin = context.getModel().getIndex(context.getCurrentElement());
+      if (-1 != origin) {
+        for (int i = 0; i < targetIndices.length; i++) {
+          int distance = distances.getShortestDistance(origin, targetIndices[i]);
+          double fulfilment = 1 - (double) distance / maximumDistances[i];
+          if (maxFulfilment < fulfilment) {
+            maxFulfilment = fulfilment;
+          }
         }
       }
     }
     return maxFulfilment;
   }
+
+  private void resolveTargets(RuntimeModel model, DistanceOracle distances) {
+    if (model != targetModel) {
+      Set<Element> targets = getTargetElements();
+      int[] indices = new int[targets.size()];
+      int count = 0;
+      for (Element target : targets) {
+        int index = model.getIndex(target);
+        if (-1 != index) {
+          indices[count++] = index;
+        }
+      }
+      targetIndices = Arrays.copyOf(indices, count);
+      maximumDistances = new int[count];
+      for (int i = 0; i < count; i++) {
+        maximumDistances[i] = distances.getMaximumDistance(targetIndices[i]);
+      }
+      targetModel = model;
+    }
+  }
 }
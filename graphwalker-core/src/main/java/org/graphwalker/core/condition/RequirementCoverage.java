@@ -51,12 +51,12 @@ public class RequirementCoverage extends CoverageStopConditionBase {
   @Override
   public double getFulfilment() {
     Context context = getContext();
-    double totalCount = context.getRequirements().size();
+    double totalCount = context.getRequirementCount();
     if (0 == totalCount) {
       return 1.0;
     }
-    double passedCount = context.getRequirements(RequirementStatus.PASSED).size();
-    double failedCount = context.getRequirements(RequirementStatus.FAILED).size();
+    double passedCount = context.getRequirementCount(RequirementStatus.PASSED);
+    double failedCount = context.getRequirementCount(RequirementStatus.FAILED);
     return ((passedCount + failedCount) / totalCount) / getPercentAsDouble();
   }
 }
@@ -28,10 +28,6 @@ package org.graphwalker.core.condition;
 
 import org.graphwalker.core.machine.Context;
 
-import java.util.List;
-
-import static org.graphwalker.core.model.Vertex.RuntimeVertex;
-
 /**
  * <h1>VertexCoverage</h1>
  * The VertexCoverage stop condition is fulfilled when the percentage of visited vertices in the
@@ -54,10 +50,7 @@ public class VertexCoverage extends CoverageStopConditionBase {
   @Override
   public double getFulfilment() {
     Context context = getContext();
-    List<RuntimeVertex> vertices = context.getModel().getVertices();
-    double visitedVertexCount = context.getModel().getVertices().stream()
-      .filter(vertex -> context.getProfiler().isVisited(context, vertex))
-      .count();
-    return (visitedVertexCount / vertices.size()) / getPercentAsDouble();
+    double visitedVertexCount = context.getProfiler().getVisitedVertexCount(context);
+    return (visitedVertexCount / context.getModel().getVertices().size()) / getPercentAsDouble();
   }
 }
@@ -27,7 +27,8 @@ package org.graphwalker.core.generator;
  */
 
 import org.graphwalker.core.algorithm.AStar;
-import org.graphwalker.core.algorithm.FloydWarshall;
+import org.graphwalker.core.algorithm.DistanceOracle;
+import org.graphwalker.core.algorithm.DistanceOracleFactory;
 import org.graphwalker.core.condition.ReachedStopCondition;
 import org.graphwalker.core.machine.Context;
 import org.graphwalker.core.model.Element;
@@ -59,9 +60,9 @@ public class AStarPath extends PathGeneratorBase<ReachedStopCondition> {
     }
     Element target = null;
     int distance = Integer.MAX_VALUE;
-    FloydWarshall floydWarshall = context.getAlgorithm(FloydWarshall.class);
+    DistanceOracle distances = DistanceOracleFactory.getDistanceOracle(context);
     for (Element element : context.filter(getStopCondition().getTargetElements())) {
-      int edgeDistance = floydWarshall.getShortestDistance(context.getCurrentElement(), element);
+      int edgeDistance = distances.getShortestDistance(context.getCurrentElement(), element);
       if (edgeDistance < distance) {
         distance = edgeDistance;
         target = element;
@@ -0,0 +1,71 @@
+package org.graphwalker.core.generator;
+
+/*
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2014 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.graphwalker.core.algorithm.ChinesePostman;
+import org.graphwalker.core.condition.StopCondition;
+import org.graphwalker.core.machine.Context;
+import org.graphwalker.core.model.Element;
+
+import java.util.Iterator;
+
+import static org.graphwalker.core.common.Objects.isNull;
+
+/**
+ * <h1>ChinesePostmanPath</h1>
+ * The ChinesePostmanPath generator walks the shortest closed path that covers every edge in the model.
+ * </p>
+ * Unlike {@link ShortestAllPaths} the model doesn't need to be eulerian, edges are walked more than
+ * once where that is needed to get from one part of the model to another, see {@link ChinesePostman}.
+ * </p>
+ */
+public class ChinesePostmanPath extends PathGeneratorBase<StopCondition> {
+
+  private Iterator<Element> path = null;
+
+  public ChinesePostmanPath(StopCondition stopCondition) {
+    setStopCondition(stopCondition);
+  }
+
+  @Override
+  public Context getNextStep() {
+    Context context = super.getNextStep();
+    if (isNull(path)) {
+      path = context.getAlgorithm(ChinesePostman.class).getPostmanPath(context.getCurrentElement()).iterator();
+    }
+    if (!path.hasNext()) {
+      throw new NoPathFoundException(context.getCurrentElement());
+    }
+    context.setCurrentElement(path.next());
+    return context;
+  }
+
+  @Override
+  public boolean hasNextStep() {
+    return !getStopCondition().isFulfilled();
+  }
+}
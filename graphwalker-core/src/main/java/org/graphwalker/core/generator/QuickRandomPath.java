@@ -71,7 +71,7 @@ public class QuickRandomPath extends PathGeneratorBase<StopCondition> {
     if (elements.isEmpty()) {
       elements.addAll(context.getModel().getElements());
       elements.remove(context.getCurrentElement());
-      Collections.shuffle(elements, SingletonRandomGenerator.random());
+      Collections.shuffle(elements, context.getRandom());
     }
     if (isNull(target) || target.equals(context.getCurrentElement())) {
       if (elements.isEmpty()) {
@@ -26,6 +26,7 @@ package org.graphwalker.core.generator;
  * #L%
  */
 
+import org.graphwalker.core.algorithm.StronglyConnectedComponents;
 import org.graphwalker.core.condition.StopCondition;
 import org.graphwalker.core.machine.Context;
 import org.graphwalker.core.model.Element;
@@ -34,12 +35,18 @@ import org.slf4j.LoggerFactory;
 
 import java.util.List;
 
+import static org.graphwalker.core.common.Objects.isNotNull;
+
 /**
  * <h1>RandomPath</h1>
  * The RandomPath generator will generate a random path through a model.
  * </p>
  * RandomPath is used when a random, unpredictable path  is to be generated.
  * </p>
+ * When the path enters a part of the model that it can never leave again, while there still are
+ * unvisited elements outside of it, a warning is logged. Unless the stop condition can be fulfilled
+ * inside that part of the model, the generator is stuck there.
+ * </p>
  *
  * @author Nils Olsson
  */
@@ -61,10 +68,29 @@ public class RandomPath extends PathGeneratorBase<StopCondition> {
       LOG.error("context.getModel().getElements(): " + context.getModel().getElements());
       throw new NoPathFoundException(context.getCurrentElement());
     }
-    context.setCurrentElement(elements.get(SingletonRandomGenerator.nextInt(elements.size())));
+    Element nextElement = elements.get(context.getRandom().nextInt(elements.size()));
+    context.setCurrentElement(nextElement);
+    checkDeadEnd(context, currentElement, nextElement);
     return context;
   }
 
+  private void checkDeadEnd(Context context, Element currentElement, Element nextElement) {
+    if (LOG.isWarnEnabled() && isNotNull(context.getProfiler()) && !context.getModel().hasSharedStates()) {
+      StronglyConnectedComponents components = context.getAlgorithm(StronglyConnectedComponents.class);
+      if (components.isSink(nextElement) && !components.isStronglyConnected(currentElement, nextElement)) {
+        long count = 0;
+        for (Element element : context.getModel().getElements()) {
+          if (!components.isStronglyConnected(nextElement, element) && !context.getProfiler().isVisited(context, element)) {
+            count++;
+          }
+        }
+        if (0 < count) {
+          LOG.warn("Reached a dead end at " + nextElement + ", " + count + " unvisited elements can no longer be reached");
+        }
+      }
+    }
+  }
+
   @Override
   public boolean hasNextStep() {
     return !getStopCondition().isFulfilled();
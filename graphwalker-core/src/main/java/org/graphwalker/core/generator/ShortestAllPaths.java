@@ -30,7 +30,8 @@ import org.graphwalker.core.algorithm.Eulerian;
 import org.graphwalker.core.condition.StopCondition;
 import org.graphwalker.core.machine.Context;
 import org.graphwalker.core.model.Element;
-import org.graphwalker.core.model.Path;
+
+import java.util.Iterator;
 
 import static org.graphwalker.core.common.Objects.isNull;
 
@@ -39,7 +40,7 @@ import static org.graphwalker.core.common.Objects.isNull;
  */
 public class ShortestAllPaths extends PathGeneratorBase<StopCondition> {
 
-  private Path<Element> path = null;
+  private Iterator<Element> path = null;
 
   public ShortestAllPaths(StopCondition stopCondition) {
     setStopCondition(stopCondition);
@@ -51,12 +52,12 @@ public class ShortestAllPaths extends PathGeneratorBase<StopCondition> {
     if (isNull(path)) {
       path = getPath(context);
     }
-    context.setCurrentElement(path.removeFirst());
+    context.setCurrentElement(path.next());
     return context;
   }
 
-  private Path<Element> getPath(Context context) {
-    return context.getAlgorithm(Eulerian.class).getEulerPath(context.getCurrentElement());
+  private Iterator<Element> getPath(Context context) {
+    return context.getAlgorithm(Eulerian.class).getEulerStream(context.getCurrentElement()).iterator();
   }
 
   @Override
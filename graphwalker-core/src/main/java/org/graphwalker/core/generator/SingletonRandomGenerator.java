@@ -31,11 +31,24 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Random;
 
+/**
+ * <h1>SingletonRandomGenerator</h1>
+ * The SingletonRandomGenerator holds the root seed of a run.
+ * </p>
+ * Machines do not draw from the shared generator, each machine asks for its own seed with
+ * {@link #nextSeed()} and owns a generator created from it. The first seed handed out after
+ * {@link #setSeed(long)} is the root seed itself, so a single seeded machine replays the same
+ * path as before, following seeds are split off the root seed using the golden ratio increment.
+ * </p>
+ */
 public class SingletonRandomGenerator {
 
   private static final Logger LOG = LoggerFactory.getLogger(SingletonRandomGenerator.class);
+  private static final long SEED_INCREMENT = 0x9E3779B97F4A7C15L;
   private static Random random = null;
   private static Boolean isSeeded = null;
+  private static Long rootSeed = null;
+  private static long splits = 0;
   private static SingletonRandomGenerator singletonRandomGenerator = new SingletonRandomGenerator();
 
   private SingletonRandomGenerator() {
@@ -76,9 +89,33 @@ public class SingletonRandomGenerator {
     return random.nextInt(bound);
   }
 
-  public static void setSeed(long seed) {
+  public static synchronized void setSeed(long seed) {
     LOG.info("Seeded: " + seed);
     isSeeded = true;
     random.setSeed(seed);
+    rootSeed = seed;
+    splits = 0;
+  }
+
+  /**
+   * Returns a new seed derived from the root seed, if no root seed is set one is created.
+   *
+   * @return The seed for a new generator.
+   */
+  public static synchronized long nextSeed() {
+    if (null == rootSeed) {
+      rootSeed = System.nanoTime();
+      LOG.info("Seed: " + rootSeed);
+    }
+    return rootSeed + SEED_INCREMENT * splits++;
+  }
+
+  /**
+   * Creates a new generator seeded with {@link #nextSeed()}.
+   *
+   * @return A generator not shared with anyone else.
+   */
+  public static Random newRandom() {
+    return new Random(nextSeed());
   }
 }
@@ -70,7 +70,7 @@ public class WeightedRandomPath extends PathGeneratorBase<StopCondition> {
     if (currentElement instanceof Vertex.RuntimeVertex) {
       context.setCurrentElement(getWeightedEdge(elements, currentElement));
     } else {
-      context.setCurrentElement(elements.get(SingletonRandomGenerator.nextInt(elements.size())));
+      context.setCurrentElement(elements.get(context.getRandom().nextInt(elements.size())));
     }
     return context;
   }
@@ -110,7 +110,7 @@ public class WeightedRandomPath extends PathGeneratorBase<StopCondition> {
     } else {
       rest = 1 - sum;
     }
-    int index = SingletonRandomGenerator.nextInt(100);
+    int index = getContext().getRandom().nextInt(100);
     double weight = 0;
     for (Element element : elements) {
       if (element instanceof Edge.RuntimeEdge) {
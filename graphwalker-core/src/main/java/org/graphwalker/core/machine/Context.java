@@ -37,6 +37,7 @@ import org.graphwalker.core.statistics.Profiler;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Random;
 
 import static org.graphwalker.core.model.Edge.RuntimeEdge;
 import static org.graphwalker.core.model.Model.RuntimeModel;
@@ -52,6 +53,17 @@ public interface Context {
 
   org.graalvm.polyglot.Context getExecutionEnvironment();
 
+  void setExecutionEnvironment(org.graalvm.polyglot.Context executionEnvironment);
+
+  /**
+   * Tells if the execution environment has been created, without creating it. A machine given an
+   * engine only creates environments for contexts that have none, so implementations that cannot
+   * tell get one created from the engine.
+   */
+  default boolean hasExecutionEnvironment() {
+    return false;
+  }
+
   RuntimeModel getModel();
 
   Context setModel(RuntimeModel model);
@@ -60,6 +72,10 @@ public interface Context {
 
   Context setProfiler(Profiler profiler);
 
+  Random getRandom();
+
+  Context setRandom(Random random);
+
   PathGenerator getPathGenerator();
 
   Context setPathGenerator(PathGenerator pathGenerator);
@@ -84,6 +100,14 @@ public interface Context {
 
   List<Requirement> getRequirements(RequirementStatus status);
 
+  default int getRequirementCount() {
+    return getRequirements().size();
+  }
+
+  default int getRequirementCount(RequirementStatus status) {
+    return getRequirements(status).size();
+  }
+
   Context setRequirementStatus(Requirement requirement, RequirementStatus requirementStatus);
 
   <A extends Algorithm> A getAlgorithm(Class<A> clazz);
@@ -27,22 +27,30 @@ package org.graphwalker.core.machine;
  */
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.graphwalker.core.algorithm.Algorithm;
+import org.graphwalker.core.algorithm.ModelAlgorithm;
 import org.graphwalker.core.generator.PathGenerator;
+import org.graphwalker.core.generator.SingletonRandomGenerator;
 import org.graphwalker.core.model.*;
 import org.graphwalker.core.statistics.Profiler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.*;
-import java.util.regex.Matcher;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 import static org.graphwalker.core.common.Objects.isNotNull;
+import static org.graphwalker.core.common.Objects.isNull;
 import static org.graphwalker.core.model.Edge.RuntimeEdge;
 import static org.graphwalker.core.model.Model.RuntimeModel;
 
@@ -67,21 +75,35 @@ public abstract class ExecutionContext implements Context {
   private RuntimeModel model;
   private PathGenerator pathGenerator;
   private Profiler profiler;
+  private Random random;
   private ExecutionStatus executionStatus = ExecutionStatus.NOT_EXECUTED;
   private Element currentElement;
   private Element nextElement;
   private Element lastElement;
   private Integer predefinedPathCurrentEdgeIndex;
 
-  private String REGEXP_GLOBAL = "global\\.";
+  private static final Pattern REGEXP_GLOBAL = Pattern.compile("global\\.");
 
   private final Map<Class<? extends Algorithm>, Object> algorithms = new HashMap<>();
 
+  private final Map<String, Script> scripts = new HashMap<>();
+
+  /**
+   * The methods of each context class, looked up once per class and name, and invoked with the
+   * context as receiver.
+   */
+  private static final ClassValue<ConcurrentMap<String, Optional<MethodHandle>>> METHODS = new ClassValue<ConcurrentMap<String, Optional<MethodHandle>>>() {
+    @Override
+    protected ConcurrentMap<String, Optional<MethodHandle>> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
   private final Map<Requirement, RequirementStatus> requirements = new HashMap<>();
 
+  private final int[] requirementCounts = new int[RequirementStatus.values().length];
+
   public ExecutionContext() {
-    executionEnvironment = org.graalvm.polyglot.Context.newBuilder().allowAllAccess(true).option("engine.WarnInterpreterOnly", "false").build();
-    executionEnvironment.getBindings("js").putMember(getClass().getSimpleName(), this);
     predefinedPathCurrentEdgeIndex = 0;
   }
 
@@ -96,15 +118,30 @@ public abstract class ExecutionContext implements Context {
   }
 
   public org.graalvm.polyglot.Context getExecutionEnvironment() {
+    if (isNull(executionEnvironment)) {
+      setExecutionEnvironment(ExecutionEnvironmentFactory.create());
+    }
     return executionEnvironment;
   }
 
+  @Override
+  public boolean hasExecutionEnvironment() {
+    return isNotNull(executionEnvironment);
+  }
+
+  @Override
+  public void setExecutionEnvironment(org.graalvm.polyglot.Context executionEnvironment) {
+    this.executionEnvironment = executionEnvironment;
+    this.executionEnvironment.getBindings("js").putMember(getClass().getSimpleName(), this);
+  }
+
   public RuntimeModel getModel() {
     return model;
   }
 
   public Context setModel(RuntimeModel model) {
     this.model = model;
+    this.algorithms.clear();
     addRequirements(model);
     return this;
   }
@@ -119,6 +156,8 @@ public abstract class ExecutionContext implements Context {
         requirements.put(requirement, RequirementStatus.NOT_COVERED);
       }
     }
+    Arrays.fill(requirementCounts, 0);
+    requirementCounts[RequirementStatus.NOT_COVERED.ordinal()] = requirements.size();
   }
 
   public Profiler getProfiler() {
@@ -131,6 +170,18 @@ public abstract class ExecutionContext implements Context {
     return this;
   }
 
+  public Random getRandom() {
+    if (isNull(random)) {
+      random = SingletonRandomGenerator.newRandom();
+    }
+    return random;
+  }
+
+  public Context setRandom(Random random) {
+    this.random = random;
+    return this;
+  }
+
   public PathGenerator getPathGenerator() {
     return pathGenerator;
   }
@@ -192,7 +243,13 @@ public abstract class ExecutionContext implements Context {
   }
 
   public Context setRequirementStatus(Requirement requirement, RequirementStatus requirementStatus) {
-    requirements.put(requirement, requirementStatus);
+    RequirementStatus previousStatus = requirements.put(requirement, requirementStatus);
+    if (isNotNull(previousStatus)) {
+      requirementCounts[previousStatus.ordinal()]--;
+    }
+    if (isNotNull(requirementStatus)) {
+      requirementCounts[requirementStatus.ordinal()]++;
+    }
     return this;
   }
 
@@ -200,6 +257,14 @@ public abstract class ExecutionContext implements Context {
     return new ArrayList<>(requirements.keySet());
   }
 
+  public int getRequirementCount() {
+    return requirements.size();
+  }
+
+  public int getRequirementCount(RequirementStatus status) {
+    return requirementCounts[status.ordinal()];
+  }
+
   public List<Requirement> getRequirements(RequirementStatus status) {
     List<Requirement> filteredRequirements = new ArrayList<>();
     for (Requirement requirement : requirements.keySet()) {
@@ -213,17 +278,25 @@ public abstract class ExecutionContext implements Context {
   @SuppressWarnings("unchecked")
   public <A extends Algorithm> A getAlgorithm(Class<A> clazz) {
     if (!algorithms.containsKey(clazz)) {
-      try {
-        Constructor<? extends Algorithm> constructor = clazz.getConstructor(Context.class);
-        algorithms.put(clazz, constructor.newInstance(this));
-      } catch (NoSuchMethodException | InvocationTargetException | InstantiationException | IllegalAccessException e) {
-        LOG.error(e.getMessage());
-        throw new MachineException(this, e);
+      if (ModelAlgorithm.class.isAssignableFrom(clazz)) {
+        algorithms.put(clazz, getModel().getCached(clazz, () -> createAlgorithm(clazz)));
+      } else {
+        algorithms.put(clazz, createAlgorithm(clazz));
       }
     }
     return (A) algorithms.get(clazz);
   }
 
+  private <A extends Algorithm> A createAlgorithm(Class<A> clazz) {
+    try {
+      Constructor<A> constructor = clazz.getConstructor(Context.class);
+      return constructor.newInstance(this);
+    } catch (NoSuchMethodException | InvocationTargetException | InstantiationException | IllegalAccessException e) {
+      LOG.error(e.getMessage());
+      throw new MachineException(this, e);
+    }
+  }
+
   public <E> List<E> filter(Collection<E> elements) {
     List<E> filteredElements = new ArrayList<>();
     if (isNotNull(elements)) {
@@ -243,28 +316,29 @@ public abstract class ExecutionContext implements Context {
 
   public boolean isAvailable(RuntimeEdge edge) {
     if (edge.hasGuard()) {
-      LOG.debug("Execute guard: '{}' in edge {}, in model: '{}'", edge.getGuard().getScript(), edge.getName(), getModel().getName());
-      Pattern pattern = Pattern.compile(REGEXP_GLOBAL);
-      Matcher matcher = pattern.matcher(edge.getGuard().getScript());
-      if (matcher.find()) {
-        return globalExecutionEnvironment.eval("js", edge.getGuard().getScript().replaceAll(REGEXP_GLOBAL, "")).asBoolean();
-      } else {
-        return executionEnvironment.eval("js", edge.getGuard().getScript()).asBoolean();
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Execute guard: '{}' in edge {}, in model: '{}'", edge.getGuard().getScript(), edge.getName(), getModel().getName());
       }
+      return eval(edge.getGuard().getScript()).asBoolean();
     }
     return true;
   }
 
   public void execute(Action action) {
     LOG.debug("Execute action: '{}' in model: '{}'", action.getScript(), getModel().getName());
-    Pattern pattern = Pattern.compile(REGEXP_GLOBAL);
-    Matcher matcher = pattern.matcher(action.getScript());
-    if (matcher.find()) {
-      globalExecutionEnvironment.eval("js", action.getScript().replaceAll(REGEXP_GLOBAL, ""));
+    eval(action.getScript());
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Data: '{}'", data());
+    }
+  }
+
+  private Value eval(String script) {
+    Script compiledScript = scripts.computeIfAbsent(script, Script::new);
+    if (compiledScript.isGlobal()) {
+      return globalExecutionEnvironment.eval(compiledScript.getSource());
     } else {
-      executionEnvironment.eval("js", action.getScript());
+      return getExecutionEnvironment().eval(compiledScript.getSource());
     }
-    LOG.debug("Data: '{}'", data());
   }
 
   public void execute(Element element) {
@@ -273,10 +347,10 @@ public abstract class ExecutionContext implements Context {
     }
     LOG.debug("Execute method: '{}' in model: '{}'", element.getName(), getModel().getName());
     try {
-      Method method = getClass().getMethod(element.getName());
-      method.invoke(this);
-    } catch (NoSuchMethodException e) {
-      // ignore, method is not defined in the execution context
+      Optional<MethodHandle> method = METHODS.get(getClass()).computeIfAbsent(element.getName(), this::findMethod);
+      if (method.isPresent()) {
+        method.get().invokeExact((ExecutionContext) this);
+      }
     } catch (Throwable t) {
       executionStatus = ExecutionStatus.FAILED;
       LOG.error(ExceptionUtils.getRootCauseMessage(t));
@@ -286,36 +360,54 @@ public abstract class ExecutionContext implements Context {
     }
   }
 
+  private Optional<MethodHandle> findMethod(String name) {
+    Method method;
+    try {
+      method = getClass().getMethod(name);
+    } catch (NoSuchMethodException e) {
+      // ignore, method is not defined in the execution context
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(MethodHandles.lookup().unreflect(method)
+        .asType(MethodType.methodType(void.class, ExecutionContext.class)));
+    } catch (IllegalAccessException e) {
+      throw new MachineException(this, e);
+    }
+  }
+
   public Value getAttribute(String name) {
-    Pattern pattern = Pattern.compile(REGEXP_GLOBAL);
-    Matcher matcher = pattern.matcher(name);
-    if (matcher.find()) {
-      return globalExecutionEnvironment.getBindings("js").getMember(name.replaceAll(REGEXP_GLOBAL, ""));
+    if (REGEXP_GLOBAL.matcher(name).find()) {
+      return globalExecutionEnvironment.getBindings("js").getMember(REGEXP_GLOBAL.matcher(name).replaceAll(""));
     } else {
-      return executionEnvironment.getBindings("js").getMember(name);
+      return getExecutionEnvironment().getBindings("js").getMember(name);
     }
   }
 
   public void setAttribute(String name, Value value) {
-    executionEnvironment.getBindings("js").putMember(name, value);
+    getExecutionEnvironment().getBindings("js").putMember(name, value);
   }
 
   public String data() {
     StringBuilder data = new StringBuilder();
-    for (String member : executionEnvironment.getBindings("js").getMemberKeys()) {
-      if (executionEnvironment.getBindings("js").getMember(member).toString().contains("org.graphwalker.core.machine.TestExecutionContext")) {
+    Value bindings = getExecutionEnvironment().getBindings("js");
+    for (String member : bindings.getMemberKeys()) {
+      String value = bindings.getMember(member).toString();
+      if (value.contains("org.graphwalker.core.machine.TestExecutionContext")) {
         continue;
       }
       data.append(member)
         .append(": ")
-        .append(executionEnvironment.getBindings("js").getMember(member))
+        .append(value)
         .append(", ");
     }
     if (isNotNull(globalExecutionEnvironment)) {
-      for (String member : globalExecutionEnvironment.getBindings("js").getMemberKeys()) {
-        data.append("global." + member)
+      Value globalBindings = globalExecutionEnvironment.getBindings("js");
+      for (String member : globalBindings.getMemberKeys()) {
+        data.append("global.")
+          .append(member)
           .append(": ")
-          .append(globalExecutionEnvironment.getBindings("js").getMember(member))
+          .append(globalBindings.getMember(member))
           .append(", ");
       }
     }
@@ -326,4 +418,27 @@ public abstract class ExecutionContext implements Context {
   public void setGlobalExecutionEnvironment(org.graalvm.polyglot.Context globalExecutionEnvironment) {
     this.globalExecutionEnvironment = globalExecutionEnvironment;
   }
+
+  /**
+   * A guard or action script, resolved once to the environment it should run in and
+   * wrapped in a {@link Source} so that the polyglot context can reuse the parsed code.
+   */
+  private static final class Script {
+
+    private final Source source;
+    private final boolean global;
+
+    private Script(String script) {
+      this.global = REGEXP_GLOBAL.matcher(script).find();
+      this.source = Source.create("js", global ? REGEXP_GLOBAL.matcher(script).replaceAll("") : script);
+    }
+
+    private Source getSource() {
+      return source;
+    }
+
+    private boolean isGlobal() {
+      return global;
+    }
+  }
 }
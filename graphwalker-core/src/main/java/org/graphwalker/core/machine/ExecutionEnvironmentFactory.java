@@ -0,0 +1,95 @@
+package org.graphwalker.core.machine;
+
+/*
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2014 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.graalvm.polyglot.Engine;
+
+import static org.graphwalker.core.common.Objects.isNotNull;
+import static org.graphwalker.core.common.Objects.isNull;
+
+/**
+ * <h1>ExecutionEnvironmentFactory</h1>
+ * The ExecutionEnvironmentFactory creates the polyglot contexts that guards and actions are evaluated in.
+ * </p>
+ * By default every environment gets its own engine. Contexts created from the same {@link Engine} share
+ * parsed code and compilation profiles, which is a lot cheaper when a machine holds many contexts.
+ * Sharing one engine for the whole JVM can be enabled by setting the system property
+ * {@value #SHARED_ENGINE}, or by handing an engine to the {@link SimpleMachine}. The shared engine
+ * is closed when the JVM shuts down, or by {@link #closeSharedEngine()}.
+ * </p>
+ */
+public abstract class ExecutionEnvironmentFactory {
+
+  public static final String SHARED_ENGINE = "graphwalker.engine.shared";
+
+  private static Engine sharedEngine;
+  private static boolean isShutdownHookAdded = false;
+
+  public static boolean isSharedEngineEnabled() {
+    return Boolean.getBoolean(SHARED_ENGINE);
+  }
+
+  public static synchronized Engine getSharedEngine() {
+    if (isNull(sharedEngine)) {
+      sharedEngine = Engine.newBuilder().option("engine.WarnInterpreterOnly", "false").build();
+      if (!isShutdownHookAdded) {
+        Runtime.getRuntime().addShutdownHook(new Thread(ExecutionEnvironmentFactory::closeSharedEngine));
+        isShutdownHookAdded = true;
+      }
+    }
+    return sharedEngine;
+  }
+
+  /**
+   * Closes the shared engine, and the environments created from it. A new engine is created the
+   * next time the shared engine is asked for.
+   */
+  public static synchronized void closeSharedEngine() {
+    if (isNotNull(sharedEngine)) {
+      sharedEngine.close(true);
+      sharedEngine = null;
+    }
+  }
+
+  public static Engine getDefaultEngine() {
+    return isSharedEngineEnabled() ? getSharedEngine() : null;
+  }
+
+  public static org.graalvm.polyglot.Context create() {
+    return create(getDefaultEngine());
+  }
+
+  public static org.graalvm.polyglot.Context create(Engine engine) {
+    org.graalvm.polyglot.Context.Builder builder = org.graalvm.polyglot.Context.newBuilder().allowAllAccess(true);
+    if (isNotNull(engine)) {
+      builder.engine(engine);
+    } else {
+      builder.option("engine.WarnInterpreterOnly", "false");
+    }
+    return builder.build();
+  }
+}
@@ -27,9 +27,11 @@ package org.graphwalker.core.machine;
  */
 
 import org.graphwalker.core.event.Observable;
+import org.graphwalker.core.model.Element;
 import org.graphwalker.core.statistics.Profiler;
 
 import java.util.List;
+import java.util.Random;
 
 /**
  * @author Nils Olsson
@@ -44,9 +46,17 @@ public interface Machine extends Observable {
 
   Context getCurrentContext();
 
+  Context getContextByElementId(String id);
+
+  Element getElementById(String id);
+
   ExceptionStrategy getExceptionStrategy();
 
   void setExceptionStrategy(ExceptionStrategy exceptionStrategy);
 
   Profiler getProfiler();
+
+  long getSeed();
+
+  Random getRandom();
 }
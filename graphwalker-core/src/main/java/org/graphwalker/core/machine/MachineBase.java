@@ -28,20 +28,30 @@ package org.graphwalker.core.machine;
 
 import org.graphwalker.core.event.EventType;
 import org.graphwalker.core.event.Observer;
+import org.graphwalker.core.generator.SingletonRandomGenerator;
 import org.graphwalker.core.model.Element;
 import org.graphwalker.core.statistics.Profiler;
-import org.graphwalker.core.statistics.SimpleProfiler;
+import org.graphwalker.core.statistics.ProfilerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 import static org.graphwalker.core.common.Objects.isNotNull;
+import static org.graphwalker.core.common.Objects.isNull;
+import static org.graphwalker.core.model.Model.RuntimeModel;
 
 /**
  * <h1>MachineBase</h1>
  * MachineBase represents the Finite State Machine.
  * </p>
- * The MachineBase keeps lists of Contexts and Observers, a Profiler and the exception strategy.
+ * The MachineBase keeps lists of Contexts and Observers, a Profiler, the exception strategy
+ * and the random generator, seeded from the root seed, that all its contexts draw from.
+ * </p>
+ * Elements can be looked up by id over all models of the machine. The index behind it is rebuilt
+ * whenever the contexts, or the models they hold, have changed since the last lookup.
  * </p>
  *
  * @author Nils Olsson
@@ -50,7 +60,13 @@ public abstract class MachineBase implements Machine {
 
   private final List<Context> contexts = new ArrayList<>();
   private final List<Observer> observers = new ArrayList<>();
-  private final Profiler profiler = new SimpleProfiler();
+  private final long seed = SingletonRandomGenerator.nextSeed();
+  private final Profiler profiler = ProfilerFactory.createProfiler(seed);
+  private final Random random = new Random(seed);
+
+  private final Map<String, Context> contextsByElementId = new HashMap<>();
+  private final List<Context> indexedContexts = new ArrayList<>();
+  private final List<RuntimeModel> indexedModels = new ArrayList<>();
 
   private ExceptionStrategy exceptionStrategy = new FailFastStrategy();
   private Context currentContext;
@@ -94,6 +110,54 @@ public abstract class MachineBase implements Machine {
     return profiler;
   }
 
+  @Override
+  public long getSeed() {
+    return seed;
+  }
+
+  @Override
+  public Random getRandom() {
+    return random;
+  }
+
+  @Override
+  public synchronized Context getContextByElementId(String id) {
+    List<Context> contexts = getContexts();
+    if (!isIndexed(contexts)) {
+      contextsByElementId.clear();
+      indexedContexts.clear();
+      indexedModels.clear();
+      for (Context context : contexts) {
+        indexedContexts.add(context);
+        indexedModels.add(context.getModel());
+        if (isNotNull(context.getModel())) {
+          for (Element element : context.getModel().getElements()) {
+            contextsByElementId.putIfAbsent(element.getId(), context);
+          }
+        }
+      }
+    }
+    return contextsByElementId.get(id);
+  }
+
+  private boolean isIndexed(List<Context> contexts) {
+    if (contexts.size() != indexedContexts.size()) {
+      return false;
+    }
+    for (int i = 0; i < contexts.size(); i++) {
+      if (contexts.get(i) != indexedContexts.get(i) || contexts.get(i).getModel() != indexedModels.get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public Element getElementById(String id) {
+    Context context = getContextByElementId(id);
+    return isNull(context) ? null : context.getModel().getElementById(id);
+  }
+
   @Override
   public Context getCurrentContext() {
     return currentContext;
@@ -26,9 +26,9 @@ package org.graphwalker.core.machine;
  * #L%
  */
 
+import org.graalvm.polyglot.Engine;
 import org.graphwalker.core.event.EventType;
 import org.graphwalker.core.generator.NoPathFoundException;
-import org.graphwalker.core.generator.SingletonRandomGenerator;
 import org.graphwalker.core.model.Action;
 import org.graphwalker.core.model.Element;
 import org.graphwalker.core.model.Requirement;
@@ -59,7 +59,7 @@ public class SimpleMachine extends MachineBase {
 
   private org.graalvm.polyglot.Context globalExecutionEnvironment;
   private Element lastElement;
-  private String REGEXP_GLOBAL = "global\\.";
+  private long step = 0;
 
   public SimpleMachine() {
   }
@@ -69,18 +69,46 @@ public class SimpleMachine extends MachineBase {
   }
 
   public SimpleMachine(Collection<Context> contexts) {
+    this(null, contexts);
+  }
+
+  /**
+   * Creates a machine where the execution environments of all contexts, and the global
+   * environment, are created from the given engine. A context that already has an execution
+   * environment keeps it, together with the bindings set on it.
+   *
+   * @param engine   The engine to share, if null the default from {@link ExecutionEnvironmentFactory} is used.
+   * @param contexts The contexts to execute.
+   */
+  public SimpleMachine(Engine engine, Context... contexts) {
+    this(engine, Arrays.asList(contexts));
+  }
+
+  public SimpleMachine(Engine engine, Collection<Context> contexts) {
     this.getContexts().addAll(contexts);
-    executeInitActions(contexts);
+    executeInitActions(engine, contexts);
     setCurrentContext(chooseStartContext(contexts));
   }
 
-  private void executeInitActions(Collection<Context> contexts) {
-    globalExecutionEnvironment = org.graalvm.polyglot.Context.newBuilder().allowAllAccess(true).option("engine.WarnInterpreterOnly", "false").build();
+  private void executeInitActions(Engine engine, Collection<Context> contexts) {
+    if (isNotNull(engine)) {
+      globalExecutionEnvironment = ExecutionEnvironmentFactory.create(engine);
+    } else {
+      globalExecutionEnvironment = ExecutionEnvironmentFactory.create();
+    }
 
     for (Context context : contexts) {
+      if (isNotNull(engine)) {
+        if (!context.hasExecutionEnvironment()) {
+          context.setExecutionEnvironment(ExecutionEnvironmentFactory.create(engine));
+        } else if (context.getExecutionEnvironment().getEngine() != engine) {
+          LOG.debug("The execution environment of {} already exists, it does not use the given engine", context.getClass().getName());
+        }
+      }
       context.setGlobalExecutionEnvironment(globalExecutionEnvironment);
       setCurrentContext(context);
       getCurrentContext().setProfiler(getProfiler());
+      getCurrentContext().setRandom(getRandom());
       if (isNull(context.getModel())) {
         throw new MachineException("A context must be associated with a model");
       }
@@ -99,7 +127,7 @@ public class SimpleMachine extends MachineBase {
 
   @Override
   public Context getNextStep() {
-    MDC.put("trace", UUID.randomUUID().toString());
+    MDC.put("trace", Long.toString(++step));
     walk(getCurrentContext());
     notifyObservers(getCurrentContext().getCurrentElement(), EventType.BEFORE_ELEMENT);
     getProfiler().start(getCurrentContext());
@@ -124,7 +152,7 @@ public class SimpleMachine extends MachineBase {
   }
 
   protected Context getNextStep(Context context) {
-    LOG.debug("Context: " + context);
+    LOG.debug("Context: {}", context);
     if (isNotNull(context.getNextElement())) {
       context.setCurrentElement(context.getNextElement());
     } else {
@@ -196,7 +224,7 @@ public class SimpleMachine extends MachineBase {
 
   private Context chooseSharedContext(Context context, RuntimeVertex vertex) {
     List<SharedStateTuple> candidates = getPossibleSharedStates(vertex.getSharedState());
-    SharedStateTuple candidate = candidates.get(SingletonRandomGenerator.nextInt(candidates.size()));
+    SharedStateTuple candidate = candidates.get(getRandom().nextInt(candidates.size()));
     if (!candidate.getVertex().equals(context.getCurrentElement())) {
       candidate.context.setNextElement(candidate.getVertex());
       context = switchContext(candidate.context);
@@ -250,7 +278,6 @@ public class SimpleMachine extends MachineBase {
 
   @Override
   public boolean hasNextStep() {
-    MDC.put("trace", UUID.randomUUID().toString());
     for (Context context : getContexts()) {
       if (hasNextStep(context)) {
         if (!context.equals(getCurrentContext()) && isStartContext(context)) {
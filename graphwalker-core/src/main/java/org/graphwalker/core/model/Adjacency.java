@@ -0,0 +1,108 @@
+package org.graphwalker.core.model;
+
+/*
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2014 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.Arrays;
+
+/**
+ * <h1>Adjacency</h1>
+ * The Adjacency is an immutable, compressed sparse row view of the connections in a model.
+ * </p>
+ * Elements are addressed by their ordinal, see {@link Model.RuntimeModel#getIndex(Element)}. The
+ * successors of the element with ordinal {@code i} are stored at the positions from
+ * {@code getOffset(i)} up to, but not including, {@code getOffset(i + 1)}. Walking it needs no hashing,
+ * and the whole model is held in two int arrays.
+ * </p>
+ */
+public final class Adjacency {
+
+  private final int[] offsets;
+  private final int[] targets;
+
+  Adjacency(int[] offsets, int[] targets) {
+    this.offsets = offsets;
+    this.targets = targets;
+  }
+
+  /**
+   * Gets the number of elements.
+   */
+  public int size() {
+    return offsets.length - 1;
+  }
+
+  /**
+   * Gets the position of the first successor of the element.
+   */
+  public int getOffset(int ordinal) {
+    return offsets[ordinal];
+  }
+
+  /**
+   * Gets the number of successors of the element.
+   */
+  public int getDegree(int ordinal) {
+    return offsets[ordinal + 1] - offsets[ordinal];
+  }
+
+  /**
+   * Gets the ordinal of the successor stored at the given position.
+   */
+  public int getTarget(int position) {
+    return targets[position];
+  }
+
+  /**
+   * Gets a copy of the ordinals of all successors of the element.
+   */
+  public int[] getTargets(int ordinal) {
+    return Arrays.copyOfRange(targets, offsets[ordinal], offsets[ordinal + 1]);
+  }
+
+  /**
+   * Creates the adjacency with every connection turned around, the successors in it are the
+   * predecessors in this one.
+   */
+  public Adjacency reverse() {
+    int size = size();
+    int[] reversedOffsets = new int[size + 1];
+    for (int target : targets) {
+      reversedOffsets[target + 1]++;
+    }
+    for (int ordinal = 0; ordinal < size; ordinal++) {
+      reversedOffsets[ordinal + 1] += reversedOffsets[ordinal];
+    }
+    int[] positions = Arrays.copyOf(reversedOffsets, size);
+    int[] reversedTargets = new int[targets.length];
+    for (int source = 0; source < size; source++) {
+      for (int position = offsets[source]; position < offsets[source + 1]; position++) {
+        reversedTargets[positions[targets[position]]++] = source;
+      }
+    }
+    return new Adjacency(reversedOffsets, reversedTargets);
+  }
+}
@@ -81,8 +81,8 @@ public class Classification extends CachedBuilder<Classification, Classification
     }
 
     @Override
-    public int hashCode() {
-      return Objects.hash(super.hashCode(), classifications);
+    protected int calculateHashCode() {
+      return Objects.hash(super.calculateHashCode(), classifications);
     }
 
     @Override
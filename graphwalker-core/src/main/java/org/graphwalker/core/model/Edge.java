@@ -311,7 +311,7 @@ public class Edge extends CachedBuilder<Edge, Edge.RuntimeEdge> {
     }
 
     @Override
-    public int hashCode() {
+    protected int calculateHashCode() {
       final int prime = 31;
       int result = 1;
       result = prime * result + ((guard == null) ? 0 : guard.hashCode());
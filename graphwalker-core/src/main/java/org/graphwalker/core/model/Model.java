@@ -29,6 +29,7 @@ package org.graphwalker.core.model;
 import org.graphwalker.core.common.Objects;
 
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static org.graphwalker.core.common.Objects.*;
@@ -247,10 +248,15 @@ public class Model extends BuilderBase<Model, Model.RuntimeModel> {
   }
 
   public Model setPredefinedPath(List<Edge> predefinedPath) {
+    Map<String, Edge> edgesById = new HashMap<>();
+    for (Edge edge : getEdges()) {
+      if (isNotNull(edge.getId())) {
+        edgesById.putIfAbsent(edge.getId(), edge);
+      }
+    }
     this.predefinedPath = predefinedPath.stream()
-      .map(predefinedPathEdge -> getEdges().stream()
-        .filter(localEdge -> localEdge.getId().equals(predefinedPathEdge.getId()))
-        .findFirst().orElseThrow(() -> new RuntimeException("Not all edges from predefined path exist in the model")))
+      .map(predefinedPathEdge -> Optional.ofNullable(edgesById.get(predefinedPathEdge.getId()))
+        .orElseThrow(() -> new RuntimeException("Not all edges from predefined path exist in the model")))
       .collect(Collectors.toList());
     return this;
   }
@@ -285,6 +291,8 @@ public class Model extends BuilderBase<Model, Model.RuntimeModel> {
     private final List<RuntimeVertex> vertices;
     private final List<RuntimeEdge> edges;
     private final List<Element> elementsCache;
+    private final Map<Element, Integer> indexCache;
+    private final Map<String, Element> elementsByIdCache;
     private final Map<Element, List<Element>> elementsByElementCache;
     private final Map<String, List<Element>> elementsByNameCache;
     private final Map<String, List<RuntimeEdge>> edgesByNameCache;
@@ -292,7 +300,10 @@ public class Model extends BuilderBase<Model, Model.RuntimeModel> {
     private final Map<RuntimeVertex, List<RuntimeEdge>> inEdgesByVertexCache;
     private final Map<RuntimeVertex, List<RuntimeEdge>> outEdgesByVertexCache;
     private final Map<String, List<RuntimeVertex>> sharedStateCache;
+    private final Adjacency adjacency;
+    private final Adjacency reverseAdjacency;
     private final List<RuntimeEdge> predefinedPath;
+    private final Map<Class<?>, Object> cache = new HashMap<>();
 
     private RuntimeModel(Model model) {
       super(model.getId(), model.getName(), model.getActions(), model.getRequirements(), model.getProperties());
@@ -303,14 +314,14 @@ public class Model extends BuilderBase<Model, Model.RuntimeModel> {
       this.inEdgesByVertexCache = createInEdgesByVertexCache();
       this.outEdgesByVertexCache = createOutEdgesByVertexCache();
       this.elementsCache = createElementCache();
+      this.indexCache = createIndexCache(elementsCache);
+      this.elementsByIdCache = createElementsByIdCache(elementsCache);
       this.elementsByNameCache = createElementsByNameCache();
       this.elementsByElementCache = createElementsByElementCache(elementsCache, outEdgesByVertexCache);
       this.sharedStateCache = createSharedStateCache();
-      this.predefinedPath = model.getPredefinedPath().stream()
-        .map(predefinedPathEdge -> this.edges.stream()
-          .filter(localEdge -> localEdge.getId().equals(predefinedPathEdge.getId()))
-          .findFirst().orElseThrow(() -> new RuntimeException("Not all edges from predefined path exist in the model")))
-        .collect(Collectors.toList());
+      this.adjacency = createAdjacency();
+      this.reverseAdjacency = adjacency.reverse();
+      this.predefinedPath = createPredefinedPath(model.getPredefinedPath());
     }
 
     /**
@@ -457,6 +468,43 @@ public class Model extends BuilderBase<Model, Model.RuntimeModel> {
       return elementsCache;
     }
 
+    /**
+     * Gets the ordinal index of an element in the model.
+     * </p>
+     * The index is the position of the element in the list returned by {@link #getElements()},
+     * so it is stable for the lifetime of the model and can be used to index arrays.
+     *
+     * @param element The element to look up.
+     * @return The index of the element, or -1 if the element is not part of the model.
+     */
+    public int getIndex(Element element) {
+      Integer index = indexCache.get(element);
+      return isNull(index) ? -1 : index;
+    }
+
+    /**
+     * Gets the successors of all elements, addressed by ordinal.
+     * </p>
+     * The successors of an element are the same, and in the same order, as the ones
+     * returned by {@link #getElements(Element)}.
+     *
+     * @return The adjacency of the model.
+     * @see #getIndex(Element)
+     */
+    public Adjacency getAdjacency() {
+      return adjacency;
+    }
+
+    /**
+     * Gets the predecessors of all elements, addressed by ordinal.
+     *
+     * @return The reversed adjacency of the model.
+     * @see #getAdjacency()
+     */
+    public Adjacency getReverseAdjacency() {
+      return reverseAdjacency;
+    }
+
     /**
      * Will return the element with the given id.
      * </p>
@@ -465,12 +513,27 @@ public class Model extends BuilderBase<Model, Model.RuntimeModel> {
      * @return The element with the given id
      */
     public Element getElementById(String id) {
-      for (Element element : elementsCache) {
-        if (element.getId().equals(id)) {
-          return element;
-        }
+      return elementsByIdCache.get(id);
+    }
+
+    /**
+     * Gets a value derived from the model, it is created the first time it's asked for.
+     * </p>
+     * The value is kept for as long as the model is, and shared by everyone using the model,
+     * which makes it suitable for structures that only depend on the model, such as distance
+     * matrices.
+     *
+     * @param clazz    The class of the value, used as key.
+     * @param supplier Creates the value if it isn't cached yet.
+     * @return The cached value.
+     */
+    public synchronized <T> T getCached(Class<T> clazz, Supplier<? extends T> supplier) {
+      Object value = cache.get(clazz);
+      if (isNull(value)) {
+        value = supplier.get();
+        cache.put(clazz, value);
       }
-      return null;
+      return clazz.cast(value);
     }
 
     /**
@@ -487,6 +550,70 @@ public class Model extends BuilderBase<Model, Model.RuntimeModel> {
       return unmodifiableList(elements);
     }
 
+    private Map<Element, Integer> createIndexCache(List<Element> elements) {
+      Map<Element, Integer> indexCache = new HashMap<>();
+      for (int index = 0; index < elements.size(); index++) {
+        indexCache.put(elements.get(index), index);
+      }
+      return unmodifiableMap(indexCache);
+    }
+
+    private Adjacency createAdjacency() {
+      int vertexCount = vertices.size();
+      int[] offsets = new int[elementsCache.size() + 1];
+      int[] sources = new int[edges.size()];
+      int[] targets = new int[edges.size()];
+      for (int i = 0; i < edges.size(); i++) {
+        RuntimeEdge edge = edges.get(i);
+        sources[i] = isNull(edge.getSourceVertex()) ? -1 : getIndex(edge.getSourceVertex());
+        targets[i] = isNull(edge.getTargetVertex()) ? -1 : getIndex(edge.getTargetVertex());
+        if (-1 != sources[i]) {
+          offsets[sources[i] + 1]++;
+        }
+        if (-1 != targets[i]) {
+          offsets[vertexCount + i + 1]++;
+        }
+      }
+      for (int ordinal = 0; ordinal < elementsCache.size(); ordinal++) {
+        offsets[ordinal + 1] += offsets[ordinal];
+      }
+      int[] positions = Arrays.copyOf(offsets, elementsCache.size());
+      int[] successors = new int[offsets[elementsCache.size()]];
+      for (int i = 0; i < edges.size(); i++) {
+        if (-1 != sources[i]) {
+          successors[positions[sources[i]]++] = vertexCount + i;
+        }
+        if (-1 != targets[i]) {
+          successors[positions[vertexCount + i]++] = targets[i];
+        }
+      }
+      return new Adjacency(offsets, successors);
+    }
+
+    private Map<String, Element> createElementsByIdCache(List<Element> elements) {
+      Map<String, Element> elementsByIdCache = new HashMap<>();
+      for (Element element : elements) {
+        elementsByIdCache.putIfAbsent(element.getId(), element);
+      }
+      return unmodifiableMap(elementsByIdCache);
+    }
+
+    private List<RuntimeEdge> createPredefinedPath(List<Edge> predefinedPath) {
+      Map<String, RuntimeEdge> edgesById = new HashMap<>();
+      for (RuntimeEdge edge : edges) {
+        edgesById.putIfAbsent(edge.getId(), edge);
+      }
+      List<RuntimeEdge> path = new ArrayList<>();
+      for (Edge predefinedPathEdge : predefinedPath) {
+        RuntimeEdge edge = edgesById.get(predefinedPathEdge.getId());
+        if (isNull(edge)) {
+          throw new RuntimeException("Not all edges from predefined path exist in the model");
+        }
+        path.add(edge);
+      }
+      return path;
+    }
+
     private Map<Element, List<Element>> createElementsByElementCache(List<Element> elements, Map<RuntimeVertex, List<RuntimeEdge>> outEdges) {
       Map<Element, List<Element>> elementsByElementCache = new HashMap<>();
       for (Element element : elements) {
@@ -603,7 +730,7 @@ public class Model extends BuilderBase<Model, Model.RuntimeModel> {
     }
 
     @Override
-    public int hashCode() {
+    protected int calculateHashCode() {
       final int prime = 31;
       int result = 1;
       result = prime * result + ((edges == null) ? 0 : edges.hashCode());
@@ -42,6 +42,7 @@ public abstract class RuntimeBase implements Element {
   private final List<Action> actions;
   private final Set<Requirement> requirements;
   private final Map<String, Object> properties;
+  private int hashCode;
 
   protected RuntimeBase(String id, String name) {
     this(id, name, new ArrayList<>(), new HashSet<>());
@@ -121,8 +122,21 @@ public abstract class RuntimeBase implements Element {
     return isNotNullOrEmpty(properties);
   }
 
+  /**
+   * The runtime elements are immutable, so the hash code is only calculated the first time it's asked
+   * for. Like {@link String#hashCode()}, a hash code of zero is calculated again every time.
+   */
   @Override
   public int hashCode() {
+    int result = hashCode;
+    if (0 == result) {
+      result = calculateHashCode();
+      hashCode = result;
+    }
+    return result;
+  }
+
+  protected int calculateHashCode() {
     final int prime = 31;
     int result = 1;
     result = prime * result + ((actions == null) ? 0 : actions.hashCode());
@@ -144,8 +158,11 @@ public abstract class RuntimeBase implements Element {
       return false;
     }
     RuntimeBase that = (RuntimeBase) o;
-    return Objects.equals(id, that.id) &&
-           Objects.equals(name, that.name) &&
+    // the cached hash codes and the ids tell most elements apart, without walking through them
+    if (hashCode() != that.hashCode() || !Objects.equals(id, that.id)) {
+      return false;
+    }
+    return Objects.equals(name, that.name) &&
            Objects.equals(actions, that.actions) &&
            Objects.equals(requirements, that.requirements) &&
            Objects.equals(properties, that.properties);
@@ -185,9 +185,9 @@ public class Vertex extends CachedBuilder<Vertex, Vertex.RuntimeVertex> {
     }
 
     @Override
-    public int hashCode() {
+    protected int calculateHashCode() {
       final int prime = 31;
-      int result = super.hashCode();
+      int result = super.calculateHashCode();
       result = prime * result
                + ((sharedState == null) ? 0 : sharedState.hashCode());
       return result;
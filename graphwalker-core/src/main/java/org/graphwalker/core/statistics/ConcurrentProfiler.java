@@ -0,0 +1,362 @@
+package org.graphwalker.core.statistics;
+
+/*
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2017 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.graphwalker.core.machine.Context;
+import org.graphwalker.core.model.Edge.RuntimeEdge;
+import org.graphwalker.core.model.Element;
+import org.graphwalker.core.model.Vertex.RuntimeVertex;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.graphwalker.core.common.Objects.isNotNull;
+import static org.graphwalker.core.common.Objects.isNull;
+
+/**
+ * <h1>ConcurrentProfiler</h1>
+ * The ConcurrentProfiler is a {@link Profiler} that can be shared by contexts that are executed on
+ * different threads, and read while they are executing.
+ * </p>
+ * The start time of an execution is kept per context, so contexts stepped at the same time do not
+ * overwrite each others timings. A context is expected to be stepped by one thread at a time.
+ * Counters that all contexts update, and the statistics of each element, are kept in striped
+ * {@link LongAdder}s and atomics. The visited elements are counted by the same {@link Coverage} as
+ * the other profilers, which is locked only the first time an element of the context is visited.
+ * </p>
+ * Like the {@link StreamingProfiler}, only the most recent executions are kept, in a ring buffer, so
+ * {@link #getExecutionPath()} returns the tail of the path.
+ * </p>
+ * Nothing is locked when reading either. The profiles and histograms returned are snapshots, taken
+ * while other threads may still be recording, so they are not guaranteed to be consistent with each other.
+ * </p>
+ */
+public class ConcurrentProfiler implements Profiler {
+
+  public static final int DEFAULT_CAPACITY = 1000;
+
+  private final ConcurrentMap<Context, ContextProfile> contexts = new ConcurrentHashMap<>();
+  private final AtomicReferenceArray<Execution> recentExecutions;
+  private final AtomicLong executionCount = new AtomicLong();
+  private final LongAdder totalVisitCount = new LongAdder();
+  private final LongAdder totalExecutionTime = new LongAdder();
+
+  public ConcurrentProfiler() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public ConcurrentProfiler(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The capacity must be at least one, was " + capacity);
+    }
+    this.recentExecutions = new AtomicReferenceArray<>(capacity);
+  }
+
+  @Override
+  public void addContext(Context context) {
+    contexts.computeIfAbsent(context, key -> new ContextProfile());
+  }
+
+  @Override
+  public Set<Context> getContexts() {
+    return contexts.keySet();
+  }
+
+  @Override
+  public void start(Context context) {
+    ContextProfile profile = contexts.computeIfAbsent(context, key -> new ContextProfile());
+    profile.visit(context, context.getCurrentElement());
+    profile.startTime = System.nanoTime();
+  }
+
+  @Override
+  public void stop(Context context) {
+    long stopTime = System.nanoTime();
+    ContextProfile profile = contexts.get(context);
+    Element element = context.getCurrentElement();
+    long duration = stopTime - profile.startTime;
+    profile.elements.get(element).record(duration);
+    profile.statistics.record(duration);
+    int index = (int) (executionCount.getAndIncrement() % recentExecutions.length());
+    recentExecutions.set(index, new Execution(context, element, profile.startTime, duration));
+    totalVisitCount.increment();
+    totalExecutionTime.add(duration);
+  }
+
+  @Override
+  public boolean isVisited(Context context, Element element) {
+    ContextProfile profile = contexts.get(context);
+    return isNotNull(profile) && profile.elements.containsKey(element);
+  }
+
+  @Override
+  public long getVisitedEdgeCount(Context context) {
+    ContextProfile profile = contexts.get(context);
+    return isNull(profile) ? 0L : profile.getEdgeCount();
+  }
+
+  @Override
+  public long getVisitedEdgeCount(Context context, int dependency) {
+    ContextProfile profile = contexts.get(context);
+    return isNull(profile) ? 0L : profile.getEdgeCount(dependency);
+  }
+
+  @Override
+  public long getVisitedVertexCount(Context context) {
+    ContextProfile profile = contexts.get(context);
+    return isNull(profile) ? 0L : profile.getVertexCount();
+  }
+
+  @Override
+  public long getTotalVisitCount() {
+    return totalVisitCount.sum();
+  }
+
+  @Override
+  public long getVisitCount(Context context, Element element) {
+    ContextProfile profile = contexts.get(context);
+    Statistics statistics = isNull(profile) ? null : profile.elements.get(element);
+    return isNull(statistics) ? 0L : statistics.count.sum();
+  }
+
+  @Override
+  public List<Element> getUnvisitedElements() {
+    return getElements(element -> true, false);
+  }
+
+  @Override
+  public List<Element> getUnvisitedElements(Context context) {
+    return getElements(context, element -> true, false);
+  }
+
+  @Override
+  public List<Element> getVisitedEdges() {
+    return getElements(element -> element instanceof RuntimeEdge, true);
+  }
+
+  @Override
+  public List<Element> getVisitedEdges(Context context) {
+    return getElements(context, element -> element instanceof RuntimeEdge, true);
+  }
+
+  @Override
+  public List<Element> getUnvisitedEdges() {
+    return getElements(element -> element instanceof RuntimeEdge, false);
+  }
+
+  @Override
+  public List<Element> getUnvisitedEdges(Context context) {
+    return getElements(context, element -> element instanceof RuntimeEdge, false);
+  }
+
+  @Override
+  public List<Element> getUnvisitedVertices() {
+    return getElements(element -> element instanceof RuntimeVertex, false);
+  }
+
+  @Override
+  public List<Element> getUnvisitedVertices(Context context) {
+    return getElements(context, element -> element instanceof RuntimeVertex, false);
+  }
+
+  @Override
+  public List<Element> getVisitedVertices() {
+    return getElements(element -> element instanceof RuntimeVertex, true);
+  }
+
+  @Override
+  public List<Element> getVisitedVertices(Context context) {
+    return getElements(context, element -> element instanceof RuntimeVertex, true);
+  }
+
+  private List<Element> getElements(Predicate<Element> filter, boolean visited) {
+    return contexts.keySet().stream()
+      .map(context -> getElements(context, filter, visited))
+      .flatMap(Collection::stream)
+      .collect(Collectors.toList());
+  }
+
+  private List<Element> getElements(Context context, Predicate<Element> filter, boolean visited) {
+    return context.getModel().getElements().stream()
+      .filter(filter)
+      .filter(element -> visited == isVisited(context, element))
+      .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<Execution> getExecutionPath() {
+    int capacity = recentExecutions.length();
+    long count = executionCount.get();
+    List<Execution> executions = new ArrayList<>();
+    for (long i = Math.max(0L, count - capacity); i < count; i++) {
+      Execution execution = recentExecutions.get((int) (i % capacity));
+      if (isNotNull(execution)) {
+        executions.add(execution);
+      }
+    }
+    return executions;
+  }
+
+  @Override
+  public long getTotalExecutionTime() {
+    return getTotalExecutionTime(TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public long getTotalExecutionTime(TimeUnit unit) {
+    return unit.convert(totalExecutionTime.sum(), TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public List<Profile> getProfiles() {
+    List<Profile> profiles = new ArrayList<>();
+    for (Map.Entry<Context, ContextProfile> entry : contexts.entrySet()) {
+      for (Map.Entry<Element, Statistics> element : entry.getValue().elements.entrySet()) {
+        profiles.add(element.getValue().getProfile(entry.getKey(), element.getKey()));
+      }
+    }
+    return profiles;
+  }
+
+  @Override
+  public Profile getProfile(Context context, Element element) {
+    ContextProfile profile = contexts.get(context);
+    Statistics statistics = isNull(profile) ? null : profile.elements.get(element);
+    return isNull(statistics) ? null : statistics.getProfile(context, element);
+  }
+
+  @Override
+  public LatencyHistogram getHistogram(Context context) {
+    ContextProfile profile = contexts.get(context);
+    return isNull(profile) ? null : profile.statistics.getHistogram();
+  }
+
+  /**
+   * The timing state and the visited elements of a context.
+   */
+  private static final class ContextProfile {
+
+    private final ConcurrentMap<Element, Statistics> elements = new ConcurrentHashMap<>();
+    private final Coverage coverage = new Coverage(elements.keySet());
+    private final Statistics statistics = new Statistics();
+    private volatile long startTime;
+
+    private void visit(Context context, Element element) {
+      if (!elements.containsKey(element) && isNull(elements.putIfAbsent(element, new Statistics()))) {
+        synchronized (coverage) {
+          coverage.visit(context, element);
+        }
+      }
+    }
+
+    private long getEdgeCount() {
+      synchronized (coverage) {
+        return coverage.getEdgeCount();
+      }
+    }
+
+    private long getEdgeCount(int dependency) {
+      synchronized (coverage) {
+        return coverage.getEdgeCount(dependency);
+      }
+    }
+
+    private long getVertexCount() {
+      synchronized (coverage) {
+        return coverage.getVertexCount();
+      }
+    }
+  }
+
+  /**
+   * The execution times of an element, or of a whole context, recorded without locking.
+   */
+  private static final class Statistics {
+
+    private static final long NONE = -1L;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+    private final AtomicLong first = new AtomicLong(NONE);
+    private final AtomicReferenceArray<AtomicLongArray> rows = new AtomicReferenceArray<>(LatencyHistogram.ROW_COUNT);
+    private volatile long last;
+
+    private void record(long duration) {
+      long nonNegativeDuration = Math.max(0L, duration);
+      if (NONE == first.get()) {
+        first.compareAndSet(NONE, nonNegativeDuration);
+      }
+      last = nonNegativeDuration;
+      total.add(nonNegativeDuration);
+      min.accumulate(nonNegativeDuration);
+      max.accumulate(nonNegativeDuration);
+      int index = LatencyHistogram.getBucket(nonNegativeDuration);
+      getRow(LatencyHistogram.getRow(index)).incrementAndGet(LatencyHistogram.getOffset(index));
+      count.increment();
+    }
+
+    private AtomicLongArray getRow(int row) {
+      AtomicLongArray buckets = rows.get(row);
+      if (isNull(buckets)) {
+        rows.compareAndSet(row, null, new AtomicLongArray(LatencyHistogram.getRowLength(row)));
+        buckets = rows.get(row);
+      }
+      return buckets;
+    }
+
+    private LatencyHistogram getHistogram() {
+      LatencyHistogram histogram = new LatencyHistogram(min.get(), Math.max(0L, max.get()));
+      for (int row = 0; row < rows.length(); row++) {
+        AtomicLongArray buckets = rows.get(row);
+        if (isNotNull(buckets)) {
+          for (int offset = 0; offset < buckets.length(); offset++) {
+            long count = buckets.get(offset);
+            if (0 < count) {
+              histogram.addCount(LatencyHistogram.getIndex(row, offset), count);
+            }
+          }
+        }
+      }
+      return histogram;
+    }
+
+    private Profile getProfile(Context context, Element element) {
+      return new Profile(context, element, count.sum(), total.sum(), min.get(), max.get(), first.get(), last, getHistogram());
+    }
+  }
+}
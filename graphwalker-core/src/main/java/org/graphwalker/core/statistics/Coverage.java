@@ -0,0 +1,133 @@
+package org.graphwalker.core.statistics;
+
+/*
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2017 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.graphwalker.core.machine.Context;
+import org.graphwalker.core.model.Edge.RuntimeEdge;
+import org.graphwalker.core.model.Element;
+import org.graphwalker.core.model.Model.RuntimeModel;
+import org.graphwalker.core.model.Vertex.RuntimeVertex;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.graphwalker.core.common.Objects.isNotNull;
+
+/**
+ * <h1>Coverage</h1>
+ * The Coverage counts the distinct visited elements of a context, edges are also counted per dependency,
+ * there are only a few different dependencies in a model.
+ * </p>
+ * The visited elements are also kept as a bit set, indexed by the ordinal of the element in the model,
+ * so visited and unvisited elements can be listed by going through the bits instead of looking up
+ * every element of the model. The bit set is rebuilt from the visited elements when the model of the
+ * context has changed.
+ * </p>
+ */
+final class Coverage {
+
+  private final NavigableMap<Integer, Long> edgesByDependency = new TreeMap<>();
+  private final Set<Element> visitedElements;
+  private final BitSet visited = new BitSet();
+  private RuntimeModel model;
+  private long edges;
+  private long vertices;
+
+  Coverage(Set<Element> visitedElements) {
+    this.visitedElements = visitedElements;
+  }
+
+  void visit(Context context, Element element) {
+    if (element instanceof RuntimeEdge) {
+      edges++;
+      Integer dependency = ((RuntimeEdge) element).getDependency();
+      if (isNotNull(dependency)) {
+        edgesByDependency.merge(dependency, 1L, Long::sum);
+      }
+    } else if (element instanceof RuntimeVertex) {
+      vertices++;
+    }
+    if (isNotNull(model) && context.getModel() == model) {
+      int index = model.getIndex(element);
+      if (0 <= index) {
+        visited.set(index);
+      }
+    }
+  }
+
+  long getEdgeCount() {
+    return edges;
+  }
+
+  long getEdgeCount(int dependency) {
+    long count = 0L;
+    for (long edges : edgesByDependency.tailMap(dependency).values()) {
+      count += edges;
+    }
+    return count;
+  }
+
+  long getVertexCount() {
+    return vertices;
+  }
+
+  List<Element> getVisitedElements(RuntimeModel model, int fromIndex, int toIndex) {
+    BitSet visited = getVisited(model);
+    List<Element> elements = new ArrayList<>();
+    for (int index = visited.nextSetBit(fromIndex); 0 <= index && index < toIndex; index = visited.nextSetBit(index + 1)) {
+      elements.add(model.getElements().get(index));
+    }
+    return elements;
+  }
+
+  List<Element> getUnvisitedElements(RuntimeModel model, int fromIndex, int toIndex) {
+    BitSet visited = getVisited(model);
+    List<Element> elements = new ArrayList<>();
+    for (int index = visited.nextClearBit(fromIndex); index < toIndex; index = visited.nextClearBit(index + 1)) {
+      elements.add(model.getElements().get(index));
+    }
+    return elements;
+  }
+
+  private BitSet getVisited(RuntimeModel model) {
+    if (this.model != model) {
+      this.model = model;
+      visited.clear();
+      for (Element element : visitedElements) {
+        int index = model.getIndex(element);
+        if (0 <= index) {
+          visited.set(index);
+        }
+      }
+    }
+    return visited;
+  }
+}
@@ -0,0 +1,195 @@
+package org.graphwalker.core.statistics;
+
+/*-
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2017 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import static org.graphwalker.core.common.Objects.isNotNull;
+import static org.graphwalker.core.common.Objects.isNull;
+
+/**
+ * <h1>LatencyHistogram</h1>
+ * The LatencyHistogram counts execution times, in nanoseconds, in log-linear buckets.
+ * </p>
+ * Values below {@value #SUB_BUCKET_COUNT} get a bucket each, above that every power of two is split
+ * into {@value #SUB_BUCKET_HALF_COUNT} buckets, so a value is never off by more than about three
+ * percent. Values up to {@link #HIGHEST_TRACKABLE_VALUE} are counted in their own bucket, larger values
+ * in the last one.
+ * </p>
+ * The buckets of a power of two are kept in a row of their own, allocated the first time a value of
+ * that size is recorded. An empty histogram takes about 200 bytes, and every power of two that the
+ * recorded values span adds about 300 bytes, so a histogram of values within a factor of ten of each
+ * other stays around one kilobyte. Once its rows exist, recording a value does not allocate anything.
+ * </p>
+ */
+public class LatencyHistogram {
+
+  public static final long HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toNanos(1);
+
+  private static final int SUB_BUCKET_BITS = 6;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+  static final int BUCKET_COUNT = getIndex(HIGHEST_TRACKABLE_VALUE) + 1;
+  static final int ROW_COUNT = getRow(BUCKET_COUNT - 1) + 1;
+
+  private final long[][] rows = new long[ROW_COUNT][];
+  private long totalCount = 0;
+  private long min = Long.MAX_VALUE;
+  private long max = 0;
+
+  public LatencyHistogram() {
+  }
+
+  LatencyHistogram(long min, long max) {
+    this.min = min;
+    this.max = max;
+  }
+
+  static int getIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return SUB_BUCKET_HALF_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift);
+  }
+
+  static int getIndex(int row, int offset) {
+    return 0 == row ? offset : SUB_BUCKET_COUNT + (row - 1) * SUB_BUCKET_HALF_COUNT + offset;
+  }
+
+  static int getRow(int index) {
+    return index < SUB_BUCKET_COUNT ? 0 : (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+  }
+
+  static int getOffset(int index) {
+    return index < SUB_BUCKET_COUNT ? index : (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT;
+  }
+
+  static int getRowLength(int row) {
+    return 0 == row ? SUB_BUCKET_COUNT : SUB_BUCKET_HALF_COUNT;
+  }
+
+  static long getHighestEquivalentValue(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+    long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+    return ((subBucket + 1) << shift) - 1;
+  }
+
+  static int getBucket(long value) {
+    return getIndex(Math.min(value, HIGHEST_TRACKABLE_VALUE));
+  }
+
+  public void recordValue(long value) {
+    long nonNegativeValue = Math.max(0L, value);
+    addCount(getBucket(nonNegativeValue), 1L);
+    min = Math.min(min, nonNegativeValue);
+    max = Math.max(max, nonNegativeValue);
+  }
+
+  void addCount(int index, long count) {
+    int row = getRow(index);
+    if (isNull(rows[row])) {
+      rows[row] = new long[getRowLength(row)];
+    }
+    rows[row][getOffset(index)] += count;
+    totalCount += count;
+  }
+
+  public void add(LatencyHistogram histogram) {
+    for (int row = 0; row < ROW_COUNT; row++) {
+      if (isNotNull(histogram.rows[row])) {
+        for (int offset = 0; offset < histogram.rows[row].length; offset++) {
+          if (0 < histogram.rows[row][offset]) {
+            addCount(getIndex(row, offset), histogram.rows[row][offset]);
+          }
+        }
+      }
+    }
+    min = Math.min(min, histogram.min);
+    max = Math.max(max, histogram.max);
+  }
+
+  public long getTotalCount() {
+    return totalCount;
+  }
+
+  public long getMinValue() {
+    return getMinValue(TimeUnit.NANOSECONDS);
+  }
+
+  public long getMinValue(TimeUnit unit) {
+    return convert(min, unit);
+  }
+
+  public long getMaxValue() {
+    return getMaxValue(TimeUnit.NANOSECONDS);
+  }
+
+  public long getMaxValue(TimeUnit unit) {
+    return convert(max, unit);
+  }
+
+  public long getValueAtPercentile(double percentile) {
+    return getValueAtPercentile(percentile, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Returns the highest value that at least the given percentage of all recorded values are equivalent to or below.
+   */
+  public long getValueAtPercentile(double percentile, TimeUnit unit) {
+    if (0 == totalCount) {
+      throw new MissingExecutionException();
+    }
+    double fraction = Math.min(Math.max(percentile, 0.0), 100.0) / 100.0;
+    long rank = Math.max(1L, (long) Math.ceil(fraction * totalCount));
+    long count = 0;
+    for (int row = 0; row < ROW_COUNT; row++) {
+      if (isNull(rows[row])) {
+        continue;
+      }
+      for (int offset = 0; offset < rows[row].length; offset++) {
+        count += rows[row][offset];
+        if (count >= rank) {
+          int index = getIndex(row, offset);
+          long value = BUCKET_COUNT - 1 <= index ? max : Math.min(max, getHighestEquivalentValue(index));
+          return convert(Math.max(min, value), unit);
+        }
+      }
+    }
+    return convert(max, unit);
+  }
+
+  private long convert(long value, TimeUnit unit) {
+    if (0 == totalCount) {
+      throw new MissingExecutionException();
+    }
+    return unit.convert(value, TimeUnit.NANOSECONDS);
+  }
+}
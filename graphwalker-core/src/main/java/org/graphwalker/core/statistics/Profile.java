@@ -33,18 +33,71 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
+ * <h1>Profile</h1>
+ * The Profile holds the execution statistics of an element in a context.
+ * </p>
+ * The count, total, min, max, first and last execution time are kept as running values that are
+ * updated with each execution, so none of the statistics has to go through the executions again.
+ * The execution times are also counted in a {@link LatencyHistogram}, for percentiles. The histogram
+ * only allocates buckets for the ranges of times recorded, usually around one kilobyte per profile.
+ * </p>
+ *
  * @author Nils Olsson
  */
 public class Profile {
 
   private final Context context;
   private final Element element;
-  private final List<Execution> executions;
+  private final LatencyHistogram histogram;
 
-  public Profile(Context context, Element element, List<Execution> executions) {
+  private long count = 0;
+  private long total = 0;
+  private long min = Long.MAX_VALUE;
+  private long max = Long.MIN_VALUE;
+  private long first = 0;
+  private long last = 0;
+
+  public Profile(Context context, Element element) {
+    this.context = context;
+    this.element = element;
+    this.histogram = new LatencyHistogram();
+  }
+
+  Profile(Context context, Element element, long count, long total, long min, long max, long first, long last, LatencyHistogram histogram) {
     this.context = context;
     this.element = element;
-    this.executions = executions;
+    this.count = count;
+    this.total = total;
+    this.min = min;
+    this.max = max;
+    this.first = first;
+    this.last = last;
+    this.histogram = histogram;
+  }
+
+  public Profile(Context context, Element element, List<Execution> executions) {
+    this(context, element);
+    for (Execution execution : executions) {
+      addExecution(execution.getDuration());
+    }
+  }
+
+  void addExecution(long duration) {
+    if (0 == count++) {
+      first = duration;
+    }
+    last = duration;
+    total += duration;
+    min = Math.min(min, duration);
+    max = Math.max(max, duration);
+    histogram.recordValue(duration);
+  }
+
+  private long convert(long duration, TimeUnit unit) {
+    if (0 == count) {
+      throw new MissingExecutionException();
+    }
+    return unit.convert(duration, TimeUnit.NANOSECONDS);
   }
 
   public Context getContext() {
@@ -56,7 +109,7 @@ public class Profile {
   }
 
   public long getExecutionCount() {
-    return executions.size();
+    return count;
   }
 
   public long getMinExecutionTime() {
@@ -64,9 +117,7 @@ public class Profile {
   }
 
   public long getMinExecutionTime(TimeUnit unit) {
-    return unit.convert(executions.stream()
-      .mapToLong(Execution::getDuration).min()
-      .orElseThrow(MissingExecutionException::new), TimeUnit.NANOSECONDS);
+    return convert(min, unit);
   }
 
   public long getMaxExecutionTime() {
@@ -74,9 +125,7 @@ public class Profile {
   }
 
   public long getMaxExecutionTime(TimeUnit unit) {
-    return unit.convert(executions.stream()
-      .mapToLong(Execution::getDuration).max()
-      .orElseThrow(MissingExecutionException::new), TimeUnit.NANOSECONDS);
+    return convert(max, unit);
   }
 
   public long getTotalExecutionTime() {
@@ -84,8 +133,7 @@ public class Profile {
   }
 
   public long getTotalExecutionTime(TimeUnit unit) {
-    return unit.convert(executions.stream()
-      .mapToLong(Execution::getDuration).sum(), TimeUnit.NANOSECONDS);
+    return unit.convert(total, TimeUnit.NANOSECONDS);
   }
 
   public long getAverageExecutionTime() {
@@ -93,9 +141,7 @@ public class Profile {
   }
 
   public long getAverageExecutionTime(TimeUnit unit) {
-    return unit.convert(Math.round(executions.stream()
-      .mapToLong(Execution::getDuration).average()
-      .orElseThrow(MissingExecutionException::new)), TimeUnit.NANOSECONDS);
+    return convert(Math.round((double) total / count), unit);
   }
 
   public long getFirstExecutionTime() {
@@ -103,8 +149,7 @@ public class Profile {
   }
 
   public long getFirstExecutionTime(TimeUnit unit) {
-    return executions.stream().findFirst()
-      .orElseThrow(MissingExecutionException::new).getDuration(unit);
+    return convert(first, unit);
   }
 
   public long getLastExecutionTime() {
@@ -112,7 +157,18 @@ public class Profile {
   }
 
   public long getLastExecutionTime(TimeUnit unit) {
-    return executions.stream().reduce((first, second) -> second)
-      .orElseThrow(MissingExecutionException::new).getDuration(unit);
+    return convert(last, unit);
+  }
+
+  public LatencyHistogram getHistogram() {
+    return histogram;
+  }
+
+  public long getExecutionTimePercentile(double percentile) {
+    return getExecutionTimePercentile(percentile, TimeUnit.NANOSECONDS);
+  }
+
+  public long getExecutionTimePercentile(double percentile, TimeUnit unit) {
+    return histogram.getValueAtPercentile(percentile, unit);
   }
 }
@@ -33,7 +33,16 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
+import static org.graphwalker.core.common.Objects.isNotNull;
+
 /**
+ * <h1>Profiler</h1>
+ * The Profiler records the executions of the elements of the contexts in a machine.
+ * </p>
+ * The visited counts and the histogram have default implementations that go through the model or the
+ * execution path, the bundled profilers override them with statistics kept while executing.
+ * </p>
+ *
  * @author Nils Olsson
  */
 public interface Profiler {
@@ -54,9 +63,39 @@ public interface Profiler {
   List<Element> getVisitedVertices();
   List<Element> getVisitedVertices(Context context);
   boolean isVisited(Context context, Element element);
+
+  default long getVisitedEdgeCount(Context context) {
+    return context.getModel().getEdges().stream()
+      .filter(edge -> isVisited(context, edge))
+      .count();
+  }
+
+  default long getVisitedEdgeCount(Context context, int dependency) {
+    return context.getModel().getEdges().stream()
+      .filter(edge -> isNotNull(edge.getDependency()) && edge.getDependency() >= dependency)
+      .filter(edge -> isVisited(context, edge))
+      .count();
+  }
+
+  default long getVisitedVertexCount(Context context) {
+    return context.getModel().getVertices().stream()
+      .filter(vertex -> isVisited(context, vertex))
+      .count();
+  }
+
   List<Execution> getExecutionPath();
   long getTotalExecutionTime();
   long getTotalExecutionTime(TimeUnit unit);
   List<Profile> getProfiles();
   Profile getProfile(Context context, Element element);
+
+  default LatencyHistogram getHistogram(Context context) {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (Execution execution : getExecutionPath()) {
+      if (context.equals(execution.getContext())) {
+        histogram.recordValue(execution.getDuration());
+      }
+    }
+    return histogram;
+  }
 }
@@ -0,0 +1,84 @@
+package org.graphwalker.core.statistics;
+
+/*
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2017 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.graphwalker.core.common.Objects.isNotNull;
+import static org.graphwalker.core.common.Objects.isNull;
+
+/**
+ * <h1>ProfilerFactory</h1>
+ * The ProfilerFactory creates the {@link Profiler} of a machine.
+ * </p>
+ * By default a {@link SimpleProfiler} is used, which keeps every execution. When the system property
+ * {@value #BUFFER_SIZE} or {@value #FILE} is set, a {@link StreamingProfiler} is used instead,
+ * keeping that many recent executions and writing the full path to a file. Every machine writes its
+ * own file, named after the given file with the seed of the machine added before the extension, so
+ * machines executed in parallel do not interleave their lines. When the system
+ * property {@value #CONCURRENT} is set, a {@link ConcurrentProfiler} is used, which can be shared by
+ * contexts executed on different threads. It keeps {@value #BUFFER_SIZE} recent executions as well,
+ * but cannot write the path to a file, so {@value #FILE} is ignored with a warning.
+ * </p>
+ */
+public abstract class ProfilerFactory {
+
+  public static final String BUFFER_SIZE = "graphwalker.profiler.buffer";
+  public static final String FILE = "graphwalker.profiler.file";
+  public static final String CONCURRENT = "graphwalker.profiler.concurrent";
+
+  private static final Logger LOG = LoggerFactory.getLogger(ProfilerFactory.class);
+
+  public static Profiler createProfiler(long seed) {
+    Integer bufferSize = Integer.getInteger(BUFFER_SIZE);
+    String file = System.getProperty(FILE);
+    if (Boolean.getBoolean(CONCURRENT)) {
+      if (isNotNull(file)) {
+        LOG.warn("The concurrent profiler does not write the execution path, {} is ignored", FILE);
+      }
+      return new ConcurrentProfiler(isNull(bufferSize) ? ConcurrentProfiler.DEFAULT_CAPACITY : bufferSize);
+    }
+    if (isNull(bufferSize) && isNull(file)) {
+      return new SimpleProfiler();
+    }
+    return new StreamingProfiler(isNull(bufferSize) ? StreamingProfiler.DEFAULT_CAPACITY : bufferSize,
+      isNull(file) ? null : getFile(Paths.get(file), seed));
+  }
+
+  static Path getFile(Path file, long seed) {
+    String name = file.getFileName().toString();
+    int extension = name.lastIndexOf('.');
+    if (0 < extension) {
+      return file.resolveSibling(name.substring(0, extension) + "-" + seed + name.substring(extension));
+    }
+    return file.resolveSibling(name + "-" + seed);
+  }
+}
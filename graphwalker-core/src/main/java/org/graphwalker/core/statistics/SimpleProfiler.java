@@ -27,44 +27,66 @@ package org.graphwalker.core.statistics;
  */
 
 import org.graphwalker.core.machine.Context;
-import org.graphwalker.core.model.Edge.RuntimeEdge;
 import org.graphwalker.core.model.Element;
-import org.graphwalker.core.model.Vertex.RuntimeVertex;
 
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import static org.graphwalker.core.common.Objects.isNull;
+
 
 /**
+ * <h1>SimpleProfiler</h1>
+ * The SimpleProfiler keeps the whole execution path, and a {@link Profile} per context and element
+ * that is updated with each execution.
+ * </p>
+ * The number of distinct visited edges and vertices of each context is counted when an element is
+ * visited the first time, so coverage can be measured without going through the whole model. The visited
+ * elements are also kept as a bit set per context, so listing the visited or unvisited elements goes
+ * through the bits rather than looking up each element of the model.
+ * The execution times of each context are counted in a {@link LatencyHistogram}.
+ * </p>
+ *
  * @author Nils Olsson
  */
 public class SimpleProfiler implements Profiler {
 
   private long startTime = 0;
+  private long totalExecutionTime = 0;
 
-  private final Map<Context, Map<Element, List<Execution>>> executions = new HashMap<>();
+  private final Map<Context, Map<Element, Profile>> profiles = new HashMap<>();
+  private final Map<Context, Coverage> coverages = new HashMap<>();
+  private final Map<Context, LatencyHistogram> histograms = new HashMap<>();
   private final List<Execution> executionPath = new ArrayList<>();
 
   @Override
   public void addContext(Context context) {
-    if (!executions.containsKey(context)) {
-      executions.put(context, new HashMap<>());
+    histograms.computeIfAbsent(context, key -> new LatencyHistogram());
+    if (!profiles.containsKey(context)) {
+      createProfiles(context);
     }
   }
 
+  private void createProfiles(Context context) {
+    Map<Element, Profile> elements = new HashMap<>();
+    profiles.put(context, elements);
+    coverages.put(context, new Coverage(elements.keySet()));
+  }
+
   @Override
   public Set<Context> getContexts() {
-    return executions.keySet();
+    return profiles.keySet();
   }
 
   @Override
   public void start(Context context) {
-    if (!executions.containsKey(context)) {
-      executions.put(context, new HashMap<>());
+    if (!profiles.containsKey(context)) {
+      createProfiles(context);
     }
-    if (!executions.get(context).containsKey(context.getCurrentElement())) {
-      executions.get(context).put(context.getCurrentElement(), new ArrayList<>());
+    if (!profiles.get(context).containsKey(context.getCurrentElement())) {
+      profiles.get(context).put(context.getCurrentElement(), new Profile(context, context.getCurrentElement()));
+      coverages.get(context).visit(context, context.getCurrentElement());
     }
     startTime = System.nanoTime();
   }
@@ -74,12 +96,32 @@ public class SimpleProfiler implements Profiler {
     long stopTime = System.nanoTime();
     Execution execution = new Execution(context, context.getCurrentElement(), startTime, stopTime - startTime);
     executionPath.add(execution);
-    executions.get(context).get(context.getCurrentElement()).add(execution);
+    profiles.get(context).get(context.getCurrentElement()).addExecution(execution.getDuration());
+    totalExecutionTime += execution.getDuration();
+    histograms.computeIfAbsent(context, key -> new LatencyHistogram()).recordValue(execution.getDuration());
   }
 
   @Override
   public boolean isVisited(Context context, Element element) {
-    return executions.containsKey(context) && executions.get(context).containsKey(element);
+    return profiles.containsKey(context) && profiles.get(context).containsKey(element);
+  }
+
+  @Override
+  public long getVisitedEdgeCount(Context context) {
+    Coverage coverage = coverages.get(context);
+    return isNull(coverage) ? 0L : coverage.getEdgeCount();
+  }
+
+  @Override
+  public long getVisitedEdgeCount(Context context, int dependency) {
+    Coverage coverage = coverages.get(context);
+    return isNull(coverage) ? 0L : coverage.getEdgeCount(dependency);
+  }
+
+  @Override
+  public long getVisitedVertexCount(Context context) {
+    Coverage coverage = coverages.get(context);
+    return isNull(coverage) ? 0L : coverage.getVertexCount();
   }
 
   @Override
@@ -89,15 +131,15 @@ public class SimpleProfiler implements Profiler {
 
   @Override
   public long getVisitCount(Context context, Element element) {
-    if (executions.containsKey(context) && executions.get(context).containsKey(element)) {
-      return executions.get(context).get(element).size();
+    if (profiles.containsKey(context) && profiles.get(context).containsKey(element)) {
+      return profiles.get(context).get(element).getExecutionCount();
     }
     return 0L;
   }
 
   @Override
   public List<Element> getUnvisitedElements() {
-    return executions.keySet().stream()
+    return profiles.keySet().stream()
       .map(this::getUnvisitedElements)
       .flatMap(Collection::stream)
       .collect(Collectors.toList());
@@ -105,14 +147,12 @@ public class SimpleProfiler implements Profiler {
 
   @Override
   public List<Element> getUnvisitedElements(Context context) {
-    return context.getModel().getElements().stream()
-      .filter(element -> !executions.get(context).containsKey(element))
-      .collect(Collectors.toList());
+    return getUnvisitedElements(context, 0, context.getModel().getElements().size());
   }
 
   @Override
   public List<Element> getVisitedEdges() {
-    return executions.keySet().stream()
+    return profiles.keySet().stream()
       .map(this::getVisitedEdges)
       .flatMap(Collection::stream)
       .collect(Collectors.toList());
@@ -120,15 +160,12 @@ public class SimpleProfiler implements Profiler {
 
   @Override
   public List<Element> getVisitedEdges(Context context) {
-    return context.getModel().getElements().stream()
-      .filter(element -> element instanceof RuntimeEdge)
-      .filter(element -> executions.get(context).containsKey(element))
-      .collect(Collectors.toList());
+    return getVisitedElements(context, getVertexCount(context), context.getModel().getElements().size());
   }
 
   @Override
   public List<Element> getUnvisitedEdges() {
-    return executions.keySet().stream()
+    return profiles.keySet().stream()
       .map(this::getUnvisitedEdges)
       .flatMap(Collection::stream)
       .collect(Collectors.toList());
@@ -136,15 +173,12 @@ public class SimpleProfiler implements Profiler {
 
   @Override
   public List<Element> getUnvisitedEdges(Context context) {
-    return context.getModel().getElements().stream()
-      .filter(element -> element instanceof RuntimeEdge)
-      .filter(element -> !executions.get(context).containsKey(element))
-      .collect(Collectors.toList());
+    return getUnvisitedElements(context, getVertexCount(context), context.getModel().getElements().size());
   }
 
   @Override
   public List<Element> getUnvisitedVertices() {
-    return executions.keySet().stream()
+    return profiles.keySet().stream()
       .map(this::getUnvisitedVertices)
       .flatMap(Collection::stream)
       .collect(Collectors.toList());
@@ -152,15 +186,12 @@ public class SimpleProfiler implements Profiler {
 
   @Override
   public List<Element> getUnvisitedVertices(Context context) {
-    return context.getModel().getElements().stream()
-      .filter(element -> element instanceof RuntimeVertex)
-      .filter(element -> !executions.get(context).containsKey(element))
-      .collect(Collectors.toList());
+    return getUnvisitedElements(context, 0, getVertexCount(context));
   }
 
   @Override
   public List<Element> getVisitedVertices() {
-    return executions.keySet().stream()
+    return profiles.keySet().stream()
       .map(this::getVisitedVertices)
       .flatMap(Collection::stream)
       .collect(Collectors.toList());
@@ -168,10 +199,24 @@ public class SimpleProfiler implements Profiler {
 
   @Override
   public List<Element> getVisitedVertices(Context context) {
-    return context.getModel().getElements().stream()
-      .filter(element -> element instanceof RuntimeVertex)
-      .filter(element -> executions.get(context).containsKey(element))
-      .collect(Collectors.toList());
+    return getVisitedElements(context, 0, getVertexCount(context));
+  }
+
+  private int getVertexCount(Context context) {
+    return context.getModel().getVertices().size();
+  }
+
+  private List<Element> getVisitedElements(Context context, int fromIndex, int toIndex) {
+    Coverage coverage = coverages.get(context);
+    return isNull(coverage) ? new ArrayList<>() : coverage.getVisitedElements(context.getModel(), fromIndex, toIndex);
+  }
+
+  private List<Element> getUnvisitedElements(Context context, int fromIndex, int toIndex) {
+    Coverage coverage = coverages.get(context);
+    if (isNull(coverage)) {
+      return new ArrayList<>(context.getModel().getElements().subList(fromIndex, toIndex));
+    }
+    return coverage.getUnvisitedElements(context.getModel(), fromIndex, toIndex);
   }
 
   @Override
@@ -186,18 +231,23 @@ public class SimpleProfiler implements Profiler {
 
   @Override
   public long getTotalExecutionTime(TimeUnit unit) {
-    return executionPath.stream().mapToLong(e -> e.getDuration(unit)).sum();
+    return unit.convert(totalExecutionTime, TimeUnit.NANOSECONDS);
   }
 
   @Override
   public List<Profile> getProfiles() {
-    return executions.entrySet().stream()
-      .flatMap(entry -> entry.getValue().keySet().stream().map(element -> getProfile(entry.getKey(), element)))
+    return profiles.values().stream()
+      .flatMap(elements -> elements.values().stream())
       .collect(Collectors.toList());
   }
 
   @Override
   public Profile getProfile(Context context, Element element) {
-    return new Profile(context, element, executions.get(context).get(element));
+    return profiles.get(context).get(element);
+  }
+
+  @Override
+  public LatencyHistogram getHistogram(Context context) {
+    return histograms.get(context);
   }
 }
@@ -0,0 +1,324 @@
+package org.graphwalker.core.statistics;
+
+/*
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2017 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.graphwalker.core.machine.Context;
+import org.graphwalker.core.model.Element;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.graphwalker.core.common.Objects.isNotNull;
+import static org.graphwalker.core.common.Objects.isNull;
+
+/**
+ * <h1>StreamingProfiler</h1>
+ * The StreamingProfiler is a {@link Profiler} for long running executions, its memory use does not
+ * grow with the number of steps taken.
+ * </p>
+ * Instead of keeping every execution, each context and element only has a {@link Profile} of fixed
+ * size, with the visit count, the total, min, max, first and last execution time and a {@link LatencyHistogram}.
+ * Only the most recent executions are kept, in a ring buffer, so {@link #getExecutionPath()} returns
+ * the tail of the path.
+ * The full path can be written to an append-only file, one tab separated line per execution with
+ * the start time, the duration in nanoseconds, the model name and the element id. The file is
+ * flushed at most once a second while executing, and when the profiler is closed, which the
+ * test executor, the command line and the servers do when they are done with a machine.
+ * </p>
+ */
+public class StreamingProfiler implements Profiler, Closeable {
+
+  public static final int DEFAULT_CAPACITY = 1000;
+
+  private static final long FLUSH_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+  private final Map<Context, Map<Element, Profile>> profiles = new HashMap<>();
+  private final Map<Context, Coverage> coverages = new HashMap<>();
+  private final Map<Context, LatencyHistogram> histograms = new HashMap<>();
+  private final Execution[] recentExecutions;
+  private final BufferedWriter writer;
+
+  private long startTime = 0;
+  private long lastFlushTime = System.nanoTime();
+  private long totalVisitCount = 0;
+  private long totalExecutionTime = 0;
+
+  public StreamingProfiler() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public StreamingProfiler(int capacity) {
+    this(capacity, null);
+  }
+
+  public StreamingProfiler(int capacity, Path file) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The capacity must be at least one, was " + capacity);
+    }
+    this.recentExecutions = new Execution[capacity];
+    this.writer = isNull(file) ? null : createWriter(file);
+  }
+
+  private static BufferedWriter createWriter(Path file) {
+    try {
+      return Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void addContext(Context context) {
+    histograms.computeIfAbsent(context, key -> new LatencyHistogram());
+    if (!profiles.containsKey(context)) {
+      createProfiles(context);
+    }
+  }
+
+  private void createProfiles(Context context) {
+    Map<Element, Profile> elements = new HashMap<>();
+    profiles.put(context, elements);
+    coverages.put(context, new Coverage(elements.keySet()));
+  }
+
+  @Override
+  public Set<Context> getContexts() {
+    return profiles.keySet();
+  }
+
+  @Override
+  public void start(Context context) {
+    if (!profiles.containsKey(context)) {
+      createProfiles(context);
+    }
+    Element element = context.getCurrentElement();
+    if (!profiles.get(context).containsKey(element)) {
+      profiles.get(context).put(element, new Profile(context, element));
+      coverages.get(context).visit(context, element);
+    }
+    startTime = System.nanoTime();
+  }
+
+  @Override
+  public void stop(Context context) {
+    long duration = System.nanoTime() - startTime;
+    Element element = context.getCurrentElement();
+    profiles.get(context).get(element).addExecution(duration);
+    recentExecutions[(int) (totalVisitCount % recentExecutions.length)] = new Execution(context, element, startTime, duration);
+    totalVisitCount++;
+    totalExecutionTime += duration;
+    histograms.computeIfAbsent(context, key -> new LatencyHistogram()).recordValue(duration);
+    if (isNotNull(writer)) {
+      write(context, element, duration);
+    }
+  }
+
+  private void write(Context context, Element element, long duration) {
+    try {
+      writer.write(startTime + "\t" + duration + "\t" + context.getModel().getName() + "\t" + element.getId());
+      writer.newLine();
+      long stopTime = startTime + duration;
+      if (stopTime - lastFlushTime >= FLUSH_INTERVAL) {
+        writer.flush();
+        lastFlushTime = stopTime;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (isNotNull(writer)) {
+      writer.close();
+    }
+  }
+
+  @Override
+  public boolean isVisited(Context context, Element element) {
+    return profiles.containsKey(context) && profiles.get(context).containsKey(element);
+  }
+
+  @Override
+  public long getVisitedEdgeCount(Context context) {
+    Coverage coverage = coverages.get(context);
+    return isNull(coverage) ? 0L : coverage.getEdgeCount();
+  }
+
+  @Override
+  public long getVisitedEdgeCount(Context context, int dependency) {
+    Coverage coverage = coverages.get(context);
+    return isNull(coverage) ? 0L : coverage.getEdgeCount(dependency);
+  }
+
+  @Override
+  public long getVisitedVertexCount(Context context) {
+    Coverage coverage = coverages.get(context);
+    return isNull(coverage) ? 0L : coverage.getVertexCount();
+  }
+
+  @Override
+  public long getTotalVisitCount() {
+    return totalVisitCount;
+  }
+
+  @Override
+  public long getVisitCount(Context context, Element element) {
+    return isVisited(context, element) ? profiles.get(context).get(element).getExecutionCount() : 0L;
+  }
+
+  @Override
+  public List<Element> getUnvisitedElements() {
+    return profiles.keySet().stream()
+      .map(this::getUnvisitedElements)
+      .flatMap(Collection::stream)
+      .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<Element> getUnvisitedElements(Context context) {
+    return getUnvisitedElements(context, 0, context.getModel().getElements().size());
+  }
+
+  @Override
+  public List<Element> getVisitedEdges() {
+    return profiles.keySet().stream()
+      .map(this::getVisitedEdges)
+      .flatMap(Collection::stream)
+      .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<Element> getVisitedEdges(Context context) {
+    return getVisitedElements(context, getVertexCount(context), context.getModel().getElements().size());
+  }
+
+  @Override
+  public List<Element> getUnvisitedEdges() {
+    return profiles.keySet().stream()
+      .map(this::getUnvisitedEdges)
+      .flatMap(Collection::stream)
+      .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<Element> getUnvisitedEdges(Context context) {
+    return getUnvisitedElements(context, getVertexCount(context), context.getModel().getElements().size());
+  }
+
+  @Override
+  public List<Element> getUnvisitedVertices() {
+    return profiles.keySet().stream()
+      .map(this::getUnvisitedVertices)
+      .flatMap(Collection::stream)
+      .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<Element> getUnvisitedVertices(Context context) {
+    return getUnvisitedElements(context, 0, getVertexCount(context));
+  }
+
+  @Override
+  public List<Element> getVisitedVertices() {
+    return profiles.keySet().stream()
+      .map(this::getVisitedVertices)
+      .flatMap(Collection::stream)
+      .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<Element> getVisitedVertices(Context context) {
+    return getVisitedElements(context, 0, getVertexCount(context));
+  }
+
+  private int getVertexCount(Context context) {
+    return context.getModel().getVertices().size();
+  }
+
+  private List<Element> getVisitedElements(Context context, int fromIndex, int toIndex) {
+    Coverage coverage = coverages.get(context);
+    return isNull(coverage) ? new ArrayList<>() : coverage.getVisitedElements(context.getModel(), fromIndex, toIndex);
+  }
+
+  private List<Element> getUnvisitedElements(Context context, int fromIndex, int toIndex) {
+    Coverage coverage = coverages.get(context);
+    if (isNull(coverage)) {
+      return new ArrayList<>(context.getModel().getElements().subList(fromIndex, toIndex));
+    }
+    return coverage.getUnvisitedElements(context.getModel(), fromIndex, toIndex);
+  }
+
+  /**
+   * Returns the most recent executions, at most as many as the capacity of the profiler, oldest first.
+   */
+  @Override
+  public List<Execution> getExecutionPath() {
+    int size = (int) Math.min(totalVisitCount, recentExecutions.length);
+    List<Execution> executionPath = new ArrayList<>(size);
+    for (long index = totalVisitCount - size; index < totalVisitCount; index++) {
+      executionPath.add(recentExecutions[(int) (index % recentExecutions.length)]);
+    }
+    return executionPath;
+  }
+
+  @Override
+  public long getTotalExecutionTime() {
+    return getTotalExecutionTime(TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public long getTotalExecutionTime(TimeUnit unit) {
+    return unit.convert(totalExecutionTime, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public List<Profile> getProfiles() {
+    return profiles.values().stream()
+      .flatMap(elements -> elements.values().stream())
+      .collect(Collectors.toList());
+  }
+
+  @Override
+  public Profile getProfile(Context context, Element element) {
+    return profiles.get(context).get(element);
+  }
+
+  @Override
+  public LatencyHistogram getHistogram(Context context) {
+    return histograms.get(context);
+  }
+}
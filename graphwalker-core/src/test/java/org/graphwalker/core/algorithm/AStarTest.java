@@ -60,4 +60,19 @@ public class AStarTest {
     assertNotNull(path);
     assertThat(path.size(), is(5));
   }
+
+  @Test
+  public void nextElement() throws Exception {
+    AStar aStar = new AStar(new TestExecutionContext().setModel(model.build()));
+    assertThat(aStar.getNextElement(v00.build(), v31.build()), is((Element) e1.build()));
+    assertThat(aStar.getNextElement(v31.build(), v31.build()), is((Element) v31.build()));
+  }
+
+  @Test
+  public void guardedNextElement() throws Exception {
+    Edge guarded = new Edge().setName("e1").setSourceVertex(v00).setTargetVertex(v01).setGuard(new Guard("false"));
+    Model guardedModel = new Model().addEdge(guarded).addEdge(e2).addEdge(e3).addEdge(e4).addEdge(e5);
+    AStar aStar = new AStar(new TestExecutionContext().setModel(guardedModel.build()));
+    assertThat(aStar.getNextElement(v00.build(), v31.build()), is((Element) e2.build()));
+  }
 }
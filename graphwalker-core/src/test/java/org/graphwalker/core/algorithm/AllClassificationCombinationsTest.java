@@ -30,7 +30,14 @@ import org.graphwalker.core.model.Classification;
 import org.graphwalker.core.model.ClassificationTree;
 import org.junit.Test;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Kristian Karl
@@ -62,7 +69,56 @@ public class AllClassificationCombinationsTest {
     AllClassificationCombinations allCombinations = new AllClassificationCombinations(tree.build());
     assertNotNull(allCombinations);
 
-    allCombinations.generate();
+    List<List<Classification.RuntimeClassification>> combinations = allCombinations.generate();
+    assertThat(combinations.size(), is(27));
+    assertThat(combinations.get(0).toString(), is("[Leaf 1, Leaf 4, Leaf 7]"));
+    assertThat(combinations.get(1).toString(), is("[Leaf 1, Leaf 4, Leaf 8]"));
+    assertThat(combinations.get(26).toString(), is("[Leaf 3, Leaf 6, Leaf 9]"));
+    assertThat(allCombinations.stream().count(), is(27L));
+  }
+
+  @Test
+  public void pairwise() throws Exception {
+    ClassificationTree tree = createTree(3, 3);
+    AllClassificationCombinations allCombinations = new AllClassificationCombinations(tree.build());
+    List<List<Classification.RuntimeClassification>> combinations = allCombinations.generate(AllClassificationCombinations.PAIRWISE);
+    assertTrue(combinations.size() < 27);
+    assertCovered(combinations, 3, 3);
+    assertThat(allCombinations.generate(3).size(), is(27));
+  }
+
+  @Test
+  public void largeTree() throws Exception {
+    ClassificationTree tree = createTree(12, 4);
+    AllClassificationCombinations allCombinations = new AllClassificationCombinations(tree.build());
+    assertThat(allCombinations.stream().limit(1000).count(), is(1000L));
+    List<List<Classification.RuntimeClassification>> combinations = allCombinations.generate(AllClassificationCombinations.PAIRWISE);
+    assertTrue(combinations.size() < 50);
+    assertCovered(combinations, 12, 4);
+  }
+
+  private static ClassificationTree createTree(int branches, int leaves) {
+    ClassificationTree tree = new ClassificationTree();
+    for (int i = 0; i < branches; i++) {
+      Classification branch = new Classification().setName("Branch " + i);
+      for (int j = 0; j < leaves; j++) {
+        branch.addClassification(new Classification().setName("Leaf " + i + "." + j));
+      }
+      tree.addClassification(branch);
+    }
+    return tree;
+  }
+
+  private static void assertCovered(List<List<Classification.RuntimeClassification>> combinations, int branches, int leaves) {
+    Set<String> pairs = new HashSet<>();
+    for (List<Classification.RuntimeClassification> combination : combinations) {
+      for (int i = 0; i < combination.size(); i++) {
+        for (int j = i + 1; j < combination.size(); j++) {
+          pairs.add(combination.get(i) + "/" + combination.get(j));
+        }
+      }
+    }
+    assertThat(pairs.size(), is(branches * (branches - 1) / 2 * leaves * leaves));
   }
 
   @Test
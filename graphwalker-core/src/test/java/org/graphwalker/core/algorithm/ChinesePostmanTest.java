@@ -0,0 +1,96 @@
+package org.graphwalker.core.algorithm;
+
+/*
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2014 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.graphwalker.core.condition.EdgeCoverage;
+import org.graphwalker.core.generator.ChinesePostmanPath;
+import org.graphwalker.core.machine.Context;
+import org.graphwalker.core.machine.Machine;
+import org.graphwalker.core.machine.SimpleMachine;
+import org.graphwalker.core.machine.TestExecutionContext;
+import org.graphwalker.core.model.*;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.graphwalker.core.model.Edge.RuntimeEdge;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class ChinesePostmanTest {
+
+  private static final Vertex v1 = new Vertex().setName("v1");
+  private static final Vertex v2 = new Vertex().setName("v2");
+  private static final Vertex v3 = new Vertex().setName("v3");
+
+  private static final Edge e1 = new Edge().setName("e1").setSourceVertex(v1).setTargetVertex(v2);
+  private static final Edge e2 = new Edge().setName("e2").setSourceVertex(v1).setTargetVertex(v3);
+  private static final Edge e3 = new Edge().setName("e3").setSourceVertex(v2).setTargetVertex(v3);
+  private static final Edge e4 = new Edge().setName("e4").setSourceVertex(v3).setTargetVertex(v1);
+
+  private static final Model model = new Model().addEdge(e1).addEdge(e2).addEdge(e3).addEdge(e4);
+
+  @Test
+  public void postmanPath() throws Exception {
+    ChinesePostman chinesePostman = new ChinesePostman(new TestExecutionContext(model, null));
+    Path<Element> path = chinesePostman.getPostmanPath(v1.build());
+    // e4 has to be walked twice to get back to v1 for the second out-edge
+    assertThat(path.size(), is(10));
+    assertThat(path.getLast(), is((Element) v1.build()));
+    Set<Element> edges = new HashSet<>();
+    Element current = v1.build();
+    for (Element element : path) {
+      if (element instanceof RuntimeEdge) {
+        assertThat(((RuntimeEdge) element).getSourceVertex(), is(current));
+        edges.add(element);
+      } else {
+        current = element;
+      }
+    }
+    assertThat(edges.size(), is(4));
+  }
+
+  @Test(expected = AlgorithmException.class)
+  public void notStronglyConnected() throws Exception {
+    Model tree = new Model().addEdge(e1).addEdge(e2);
+    new ChinesePostman(new TestExecutionContext(tree, null)).getPostmanPath(v1.build());
+  }
+
+  @Test
+  public void generator() throws Exception {
+    Context context = new TestExecutionContext(model, new ChinesePostmanPath(new EdgeCoverage(100)));
+    context.setNextElement(v1);
+    Machine machine = new SimpleMachine(context);
+    int steps = 0;
+    while (machine.hasNextStep()) {
+      machine.getNextStep();
+      steps++;
+    }
+    assertThat(steps <= 11, is(true));
+  }
+}
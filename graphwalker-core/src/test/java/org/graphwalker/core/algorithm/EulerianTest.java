@@ -28,7 +28,9 @@ package org.graphwalker.core.algorithm;
 
 import org.graphwalker.core.machine.TestExecutionContext;
 import org.graphwalker.core.model.Edge;
+import org.graphwalker.core.model.Element;
 import org.graphwalker.core.model.Model;
+import org.graphwalker.core.model.Path;
 import org.graphwalker.core.model.Vertex;
 import org.junit.Test;
 
@@ -87,4 +89,19 @@ public class EulerianTest {
     Eulerian eulerian = new Eulerian(new TestExecutionContext().setModel(model.build()));
     assertThat(eulerian.getEulerianType(), is(Eulerian.EulerianType.EULERIAN));
   }
+
+  @Test
+  public void verifySemiEulerianPath() throws Exception {
+    Eulerian eulerian = new Eulerian(new TestExecutionContext().setModel(createModel().build()));
+    Path<Element> path = eulerian.getEulerPath(B.build());
+    assertThat(path.size(), is(8));
+    assertThat(path.getLast(), is((Element) A.build()));
+    assertThat(eulerian.getEulerStream(B.build()).findFirst().get(), is(path.getFirst()));
+  }
+
+  @Test(expected = AlgorithmException.class)
+  public void verifySemiEulerianWrongStart() throws Exception {
+    Eulerian eulerian = new Eulerian(new TestExecutionContext().setModel(createModel().build()));
+    eulerian.getEulerPath(A.build());
+  }
 }
@@ -28,12 +28,16 @@ package org.graphwalker.core.algorithm;
 
 import org.graphwalker.core.machine.TestExecutionContext;
 import org.graphwalker.core.model.Edge;
+import org.graphwalker.core.model.Element;
 import org.graphwalker.core.model.Model;
 import org.graphwalker.core.model.Vertex;
 import org.junit.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
 
 /**
  * @author Nils Olsson
@@ -72,4 +76,20 @@ public final class FloydWarshallTest {
     assertThat(floydWarshall.getShortestDistance(v00.build(), v00.build()), is(0));
     assertThat(floydWarshall.getShortestDistance(e1.build(), e1.build()), is(0));
   }
+
+  @Test
+  public void nextElement() throws Exception {
+    FloydWarshall floydWarshall = new FloydWarshall(new TestExecutionContext().setModel(model.build()));
+    assertThat(floydWarshall.getNextElement(v00.build(), v31.build()), is((Element) e1.build()));
+    assertThat(floydWarshall.getNextElement(e1.build(), v31.build()), is((Element) v01.build()));
+    assertThat(floydWarshall.getNextElement(v31.build(), v00.build()), is(nullValue()));
+  }
+
+  @Test
+  public void sharedBetweenContexts() throws Exception {
+    Model.RuntimeModel runtimeModel = model.build();
+    FloydWarshall floydWarshall = new TestExecutionContext().setModel(runtimeModel).getAlgorithm(FloydWarshall.class);
+    assertThat(new TestExecutionContext().setModel(runtimeModel).getAlgorithm(FloydWarshall.class), sameInstance(floydWarshall));
+    assertThat(new TestExecutionContext().setModel(model.build()).getAlgorithm(FloydWarshall.class), not(sameInstance(floydWarshall)));
+  }
 }
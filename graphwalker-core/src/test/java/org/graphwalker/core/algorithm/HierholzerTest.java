@@ -0,0 +1,109 @@
+package org.graphwalker.core.algorithm;
+
+/*
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2014 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.graphwalker.core.machine.TestExecutionContext;
+import org.graphwalker.core.model.*;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.graphwalker.core.model.Edge.RuntimeEdge;
+import static org.graphwalker.core.model.Vertex.RuntimeVertex;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class HierholzerTest {
+
+  private static final Vertex v1 = new Vertex().setName("v1");
+  private static final Vertex v2 = new Vertex().setName("v2");
+  private static final Vertex v3 = new Vertex().setName("v3");
+  private static final Vertex v4 = new Vertex().setName("v4");
+  private static final Vertex v5 = new Vertex().setName("v5");
+  private static final Vertex v6 = new Vertex().setName("v6");
+
+  private static final Edge e1 = new Edge().setName("e1").setSourceVertex(v1).setTargetVertex(v2);
+  private static final Edge e2 = new Edge().setName("e2").setSourceVertex(v2).setTargetVertex(v3);
+  private static final Edge e3 = new Edge().setName("e3").setSourceVertex(v3).setTargetVertex(v1);
+  private static final Edge e4 = new Edge().setName("e4").setSourceVertex(v1).setTargetVertex(v4);
+  private static final Edge e5 = new Edge().setName("e5").setSourceVertex(v4).setTargetVertex(v5);
+  private static final Edge e6 = new Edge().setName("e6").setSourceVertex(v5).setTargetVertex(v6);
+  private static final Edge e7 = new Edge().setName("e7").setSourceVertex(v6).setTargetVertex(v4);
+
+  private static final Model model = new Model()
+      .addEdge(e1)
+      .addEdge(e2)
+      .addEdge(e3)
+      .addEdge(e4)
+      .addEdge(e5)
+      .addEdge(e6)
+      .addEdge(e7);
+
+  @Test
+  public void findTrailFromVertex() throws Exception {
+    Hierholzer hierholzer = new Hierholzer(new TestExecutionContext(model, null));
+    verifyTrail(v1.build(), hierholzer.getTrail(v1.build()), 7);
+  }
+
+  @Test
+  public void findTrailFromEdge() throws Exception {
+    Hierholzer hierholzer = new Hierholzer(new TestExecutionContext(model, null));
+    Iterator<Element> trail = hierholzer.getTrail(e1.build());
+    assertThat(trail.next(), is((Element) v2.build()));
+    verifyTrail(v2.build(), trail, 6);
+  }
+
+  @Test(expected = AlgorithmException.class)
+  public void unreachableEdges() throws Exception {
+    Model disconnected = new Model()
+        .addEdge(new Edge().setSourceVertex(v1).setTargetVertex(v2))
+        .addEdge(new Edge().setSourceVertex(v2).setTargetVertex(v1))
+        .addEdge(new Edge().setSourceVertex(v3).setTargetVertex(v4))
+        .addEdge(new Edge().setSourceVertex(v4).setTargetVertex(v3));
+    Iterator<Element> trail = new Hierholzer(new TestExecutionContext(disconnected, null)).getTrail(v1.build());
+    while (trail.hasNext()) {
+      trail.next();
+    }
+  }
+
+  private void verifyTrail(Element start, Iterator<Element> trail, int numberOfEdges) {
+    Set<Element> edges = new HashSet<>();
+    Element current = start;
+    while (trail.hasNext()) {
+      RuntimeEdge edge = (RuntimeEdge) trail.next();
+      assertThat(edge.getSourceVertex(), is(current));
+      assertThat(edges.add(edge), is(true));
+      current = trail.next();
+      assertThat(current, is((Element) edge.getTargetVertex()));
+    }
+    assertThat(edges.size(), is(numberOfEdges));
+  }
+}
@@ -0,0 +1,107 @@
+package org.graphwalker.core.algorithm;
+
+/*
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2014 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.graphwalker.core.machine.Context;
+import org.graphwalker.core.machine.TestExecutionContext;
+import org.graphwalker.core.model.Edge;
+import org.graphwalker.core.model.Element;
+import org.graphwalker.core.model.Model;
+import org.graphwalker.core.model.Vertex;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public final class StronglyConnectedComponentsTest {
+
+  private static final Vertex v00 = new Vertex().setName("v00");
+  private static final Vertex v01 = new Vertex().setName("v01");
+  private static final Vertex v10 = new Vertex().setName("v10");
+  private static final Vertex v20 = new Vertex().setName("v20");
+  private static final Vertex v31 = new Vertex().setName("v31");
+
+  private static final Edge e1 = new Edge().setName("e1").setSourceVertex(v00).setTargetVertex(v01);
+  private static final Edge e2 = new Edge().setName("e2").setSourceVertex(v00).setTargetVertex(v10);
+  private static final Edge e3 = new Edge().setName("e3").setSourceVertex(v10).setTargetVertex(v20);
+  private static final Edge e4 = new Edge().setName("e4").setSourceVertex(v20).setTargetVertex(v31);
+  private static final Edge e5 = new Edge().setName("e5").setSourceVertex(v01).setTargetVertex(v31);
+  private static final Edge e6 = new Edge().setName("e6").setSourceVertex(v31).setTargetVertex(v10);
+  private static final Edge e7 = new Edge().setName("e7").setSourceVertex(v20).setTargetVertex(v20);
+
+  private static final Model model = new Model().addEdge(e1).addEdge(e2).addEdge(e3).addEdge(e4).addEdge(e5).addEdge(e6).addEdge(e7);
+
+  @Test
+  public void components() throws Exception {
+    StronglyConnectedComponents components = new StronglyConnectedComponents(new TestExecutionContext().setModel(model.build()));
+    assertThat(components.getComponentCount(), is(6));
+    assertThat(components.isStronglyConnected(), is(false));
+    assertThat(components.getElements(components.getComponent(v10.build())).size(), is(7));
+    assertThat(components.isStronglyConnected(v10.build(), e7.build()), is(true));
+    assertThat(components.isStronglyConnected(v00.build(), v01.build()), is(false));
+    assertThat(components.isSink(v31.build()), is(true));
+    assertThat(components.isSink(v01.build()), is(false));
+  }
+
+  @Test
+  public void reachable() throws Exception {
+    Context context = new TestExecutionContext().setModel(model.build());
+    StronglyConnectedComponents components = new StronglyConnectedComponents(context);
+    FloydWarshall floydWarshall = new FloydWarshall(context);
+    for (Element origin : context.getModel().getElements()) {
+      for (Element destination : context.getModel().getElements()) {
+        boolean reachable = Integer.MAX_VALUE != floydWarshall.getShortestDistance(origin, destination);
+        assertThat(components.isReachable(origin, destination), is(reachable));
+      }
+    }
+  }
+
+  @Test
+  public void unreachableElements() throws Exception {
+    StronglyConnectedComponents components = new StronglyConnectedComponents(new TestExecutionContext().setModel(model.build()));
+    assertThat(components.getUnreachableElements(Collections.singletonList(v00.build())).isEmpty(), is(true));
+    assertThat(components.getUnreachableElements(Collections.singletonList(v01.build())).size(), is(3));
+    assertThat(components.getUnreachableElements(Collections.singletonList(e3.build())).size(), is(5));
+  }
+
+  @Test
+  public void longCycle() throws Exception {
+    Model cycle = new Model();
+    Vertex first = new Vertex().setName("v0");
+    Vertex previous = first;
+    for (int i = 1; i < 20000; i++) {
+      Vertex vertex = new Vertex().setName("v" + i);
+      cycle.addEdge(new Edge().setSourceVertex(previous).setTargetVertex(vertex));
+      previous = vertex;
+    }
+    cycle.addEdge(new Edge().setSourceVertex(previous).setTargetVertex(first));
+    StronglyConnectedComponents components = new StronglyConnectedComponents(new TestExecutionContext().setModel(cycle.build()));
+    assertThat(components.isStronglyConnected(), is(true));
+  }
+}
@@ -80,6 +80,21 @@ public class ReachedVertexTest {
     assertThat(condition.getFulfilment(), is(1.0));
   }
 
+  @Test
+  public void testModelChanged() throws Exception {
+    Vertex v1 = new Vertex().setName("v1");
+    Vertex v2 = new Vertex().setName("v2");
+    Vertex v3 = new Vertex().setName("v3");
+    Edge e1 = new Edge().setSourceVertex(v1).setTargetVertex(v2);
+    Edge e2 = new Edge().setSourceVertex(v3).setTargetVertex(v1);
+    StopCondition condition = new ReachedVertex("v2");
+    Context context = new TestExecutionContext(new Model().addEdge(e1), new RandomPath(condition));
+    context.setCurrentElement(e1.build());
+    assertThat(condition.getFulfilment(), is(0.5));
+    context.setModel(new Model().addEdge(e1).addEdge(e2).build());
+    assertThat(condition.getFulfilment(), is(0.75));
+  }
+
   @Test
   public void testIsFulfilled() throws Exception {
     Vertex v1 = new Vertex().setName("v1");
@@ -68,6 +68,24 @@ public class RequirementCoverageTest {
     assertEquals(context.getRequirements(), context.getRequirements(RequirementStatus.PASSED));
     assertTrue(context.getRequirements(RequirementStatus.NOT_COVERED).isEmpty());
     assertTrue(context.getRequirements(RequirementStatus.FAILED).isEmpty());
+    assertThat(context.getRequirementCount(), is(2));
+    assertThat(context.getRequirementCount(RequirementStatus.PASSED), is(2));
+    assertThat(context.getRequirementCount(RequirementStatus.NOT_COVERED), is(0));
+  }
+
+  @Test
+  public void testRequirementCount() throws Exception {
+    Requirement requirement = new Requirement("1");
+    Vertex vertex = new Vertex().addRequirement(requirement).addRequirement(new Requirement("2"));
+    Context context = new TestExecutionContext(new Model().addVertex(vertex), new RandomPath(new RequirementCoverage(100)));
+    assertThat(context.getRequirementCount(RequirementStatus.NOT_COVERED), is(2));
+    context.setRequirementStatus(requirement, RequirementStatus.FAILED);
+    assertThat(context.getRequirementCount(RequirementStatus.NOT_COVERED), is(1));
+    assertThat(context.getRequirementCount(RequirementStatus.FAILED), is(1));
+    context.setRequirementStatus(requirement, RequirementStatus.PASSED);
+    assertThat(context.getRequirementCount(RequirementStatus.FAILED), is(0));
+    assertThat(context.getRequirementCount(RequirementStatus.PASSED), is(1));
+    assertThat(context.getPathGenerator().getStopCondition().getFulfilment(), is(0.5));
   }
 
   @Test
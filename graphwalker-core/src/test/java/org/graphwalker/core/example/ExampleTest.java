@@ -65,6 +65,12 @@ public class ExampleTest extends ExecutionContext {
   public void myAction() {
   }
 
+  private int counter = 0;
+
+  public void count() {
+    counter++;
+  }
+
   @Test
   public void success() throws Exception {
     Vertex start = new Vertex();
@@ -129,4 +135,21 @@ public class ExampleTest extends ExecutionContext {
       assertThat(getExecutionStatus(), is(ExecutionStatus.FAILED));
     }
   }
+
+  @Test
+  public void executeElementMethods() throws Exception {
+    Vertex start = new Vertex().setName("count");
+    Model model = new Model().addEdge(new Edge()
+                                          .setName("noSuchMethod")
+                                          .setSourceVertex(start)
+                                          .setTargetVertex(start));
+    this.setModel(model.build());
+    Element vertex = getModel().getVertices().get(0);
+    Element edge = getModel().getEdges().get(0);
+    for (int i = 0; i < 3; i++) {
+      execute(vertex);
+      execute(edge);
+    }
+    assertThat(counter, is(3));
+  }
 }
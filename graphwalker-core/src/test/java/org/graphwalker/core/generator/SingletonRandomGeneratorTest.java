@@ -1,11 +1,22 @@
 package org.graphwalker.core.generator;
 
+import org.graphwalker.core.condition.Length;
+import org.graphwalker.core.machine.Context;
+import org.graphwalker.core.machine.Machine;
+import org.graphwalker.core.machine.SimpleMachine;
+import org.graphwalker.core.machine.TestExecutionContext;
+import org.graphwalker.core.model.Model.RuntimeModel;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.graphwalker.core.Models.findVertex;
+import static org.graphwalker.core.Models.fourEdgesModel;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class SingletonRandomGeneratorTest {
@@ -40,4 +51,43 @@ public class SingletonRandomGeneratorTest {
   public void un_seededBoundNextInt() {
     assertThat(SingletonRandomGenerator.nextInt(999), is(instanceOf(int.class)));
   }
+
+  @Test
+  public void splitSeeds() {
+    SingletonRandomGenerator.setSeed(123);
+    long first = SingletonRandomGenerator.nextSeed();
+    long second = SingletonRandomGenerator.nextSeed();
+    assertThat(first, is(123L));
+    assertThat(second, is(not(first)));
+    SingletonRandomGenerator.setSeed(123);
+    assertThat(SingletonRandomGenerator.nextSeed(), is(first));
+    assertThat(SingletonRandomGenerator.nextSeed(), is(second));
+  }
+
+  @Test
+  public void replayMachine() {
+    SingletonRandomGenerator.setSeed(456);
+    Machine first = createMachine();
+    Machine second = createMachine();
+    assertThat(first.getRandom(), is(not(second.getRandom())));
+    List<String> path = walk(first);
+    walk(second);
+    SingletonRandomGenerator.setSeed(first.getSeed());
+    assertThat(walk(createMachine()), is(path));
+  }
+
+  private Machine createMachine() {
+    RuntimeModel model = fourEdgesModel().build();
+    Context context = new TestExecutionContext().setModel(model).setNextElement(findVertex(model, "A"));
+    context.setPathGenerator(new RandomPath(new Length(30)));
+    return new SimpleMachine(context);
+  }
+
+  private List<String> walk(Machine machine) {
+    List<String> path = new ArrayList<>();
+    while (machine.hasNextStep()) {
+      path.add(machine.getNextStep().getCurrentElement().getId());
+    }
+    return path;
+  }
 }
@@ -26,6 +26,7 @@ package org.graphwalker.core.machine;
  * #L%
  */
 
+import org.graalvm.polyglot.Engine;
 import org.graphwalker.core.condition.*;
 import org.graphwalker.core.generator.*;
 import org.graphwalker.core.model.*;
@@ -61,6 +62,23 @@ public class SimpleMachineTest {
     assertNotEquals(context.getProfiler().getTotalVisitCount(), 0);
   }
 
+  @Test
+  public void getElementById() throws Exception {
+    Vertex v1 = new Vertex().setId("v1");
+    Vertex v2 = new Vertex().setId("v2");
+    Context context1 = new TestExecutionContext(new Model().addEdge(new Edge().setId("e1").setSourceVertex(v1).setTargetVertex(v1)), new RandomPath(new VertexCoverage(100)));
+    Context context2 = new TestExecutionContext(new Model().addEdge(new Edge().setId("e2").setSourceVertex(v2).setTargetVertex(v2)), new RandomPath(new VertexCoverage(100)));
+    context1.setNextElement(v1);
+    Machine machine = new SimpleMachine(context1, context2);
+    assertThat(machine.getContextByElementId("e1"), is(context1));
+    assertThat(machine.getContextByElementId("v2"), is(context2));
+    assertThat(machine.getElementById("e2"), is((Element) context2.getModel().getElementById("e2")));
+    assertNull(machine.getElementById("e3"));
+    context2.setModel(new Model().addEdge(new Edge().setId("e3").setSourceVertex(v2).setTargetVertex(v2)).build());
+    assertThat(machine.getContextByElementId("e3"), is(context2));
+    assertNull(machine.getContextByElementId("e2"));
+  }
+
   @Test
   public void loopEdge() throws Exception {
     Vertex vertex = new Vertex();
@@ -529,4 +547,59 @@ public class SimpleMachineTest {
     // Last element is a vertex
     assertEquals((Integer) 5, context.getPredefinedPathCurrentEdgeIndex());
   }
+
+  @Test
+  public void reevaluateSameGuardScript() {
+    Vertex vertex1 = new Vertex().setName("v1");
+    Vertex vertex2 = new Vertex().setName("v2");
+    Model model = new Model()
+      .addEdge(new Edge().setSourceVertex(vertex1).setTargetVertex(vertex2).setGuard(new Guard("i < 2")).addAction(new Action("i++;")))
+      .addEdge(new Edge().setSourceVertex(vertex2).setTargetVertex(vertex1).setGuard(new Guard("i < 2")));
+    model.addAction(new Action("var i = 0;"));
+    Context context = new TestExecutionContext(model, new RandomPath(new Never()));
+    context.setNextElement(vertex1);
+    Machine machine = new SimpleMachine(context);
+    Edge.RuntimeEdge edge = context.getModel().getEdges().get(0);
+    assertTrue(context.isAvailable(edge));
+    context.execute(new Action("i = 2;"));
+    assertFalse(context.isAvailable(edge));
+    context.execute(new Action("i = 0;"));
+    assertTrue(context.isAvailable(edge));
+  }
+
+  @Test
+  public void sharedEngine() {
+    Vertex vertex1 = new Vertex();
+    Vertex vertex2 = new Vertex();
+    Model model = new Model()
+      .addEdge(new Edge().setSourceVertex(vertex1).setTargetVertex(vertex2).addAction(new Action("global.i = 1;")))
+      .addEdge(new Edge().setSourceVertex(vertex2).setTargetVertex(vertex1).setGuard(new Guard("global.i == 1")))
+      .addAction(new Action("global.i = 0;"));
+    Context context1 = new TestExecutionContext(model, new RandomPath(new EdgeCoverage(100)));
+    Context context2 = new TestExecutionContext(model, new RandomPath(new EdgeCoverage(100)));
+    context1.setNextElement(vertex1);
+    Engine engine = Engine.newBuilder().option("engine.WarnInterpreterOnly", "false").build();
+    Machine machine = new SimpleMachine(engine, context1, context2);
+    assertThat(context1.getExecutionEnvironment().getEngine(), is(engine));
+    assertThat(context2.getExecutionEnvironment().getEngine(), is(engine));
+    Edge.RuntimeEdge guardedEdge = context2.getModel().getEdges().get(1);
+    assertFalse(context2.isAvailable(guardedEdge));
+    machine.getNextStep();
+    machine.getNextStep();
+    assertTrue(context2.isAvailable(guardedEdge));
+  }
+
+  @Test
+  public void sharedEngineKeepsExistingEnvironment() {
+    Vertex vertex = new Vertex();
+    Model model = new Model().addEdge(new Edge().setSourceVertex(vertex).setTargetVertex(vertex));
+    Context context = new TestExecutionContext(model, new RandomPath(new EdgeCoverage(100)));
+    context.setNextElement(vertex);
+    context.execute(new Action("i = 42;"));
+    org.graalvm.polyglot.Context environment = context.getExecutionEnvironment();
+    Engine engine = Engine.newBuilder().option("engine.WarnInterpreterOnly", "false").build();
+    new SimpleMachine(engine, context);
+    assertThat(context.getExecutionEnvironment(), is(environment));
+    assertThat(context.getAttribute("i").asInt(), is(42));
+  }
 }
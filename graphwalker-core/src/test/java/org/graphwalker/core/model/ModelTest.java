@@ -57,6 +57,48 @@ public class ModelTest {
     assertTrue(element.equals(e1.build()));
   }
 
+  @Test
+  public void adjacency() throws Exception {
+    Vertex v1 = new Vertex().setName("v1");
+    Vertex v2 = new Vertex().setName("v2");
+    Model model = new Model()
+      .addEdge(new Edge().setName("e0").setTargetVertex(v1))
+      .addEdge(new Edge().setName("e1").setSourceVertex(v1).setTargetVertex(v2))
+      .addEdge(new Edge().setName("e2").setSourceVertex(v1).setTargetVertex(v1))
+      .addEdge(new Edge().setName("e3").setSourceVertex(v2).setTargetVertex(v1));
+    RuntimeModel runtimeModel = model.build();
+    Adjacency adjacency = runtimeModel.getAdjacency();
+    Adjacency reverseAdjacency = runtimeModel.getReverseAdjacency();
+    assertThat(adjacency.size(), is(runtimeModel.getElements().size()));
+    int predecessors = 0;
+    for (Element element : runtimeModel.getElements()) {
+      int index = runtimeModel.getIndex(element);
+      List<Element> successors = runtimeModel.getElements(element);
+      assertThat(adjacency.getDegree(index), is(successors.size()));
+      for (int i = 0; i < successors.size(); i++) {
+        assertThat(adjacency.getTarget(adjacency.getOffset(index) + i), is(runtimeModel.getIndex(successors.get(i))));
+      }
+      predecessors += reverseAdjacency.getDegree(index);
+    }
+    assertThat(predecessors, is(adjacency.getOffset(adjacency.size())));
+    int v1Index = runtimeModel.getIndex(v1.build());
+    assertThat(reverseAdjacency.getDegree(v1Index), is(3));
+  }
+
+  @Test
+  public void cachedHashCode() throws Exception {
+    Vertex vertex = new Vertex().setId("v1").setName("v1");
+    Edge edge = new Edge().setId("e1").setName("e1").setSourceVertex(vertex).setTargetVertex(vertex);
+    Edge.RuntimeEdge first = edge.build();
+    assertThat(first.hashCode(), is(first.hashCode()));
+    Edge.RuntimeEdge second = new Edge().setId("e1").setName("e1").setSourceVertex(vertex).setTargetVertex(vertex).build();
+    assertThat(second.hashCode(), is(first.hashCode()));
+    assertThat(second, is(first));
+    Edge.RuntimeEdge third = new Edge().setId("e2").setName("e1").setSourceVertex(vertex).setTargetVertex(vertex).build();
+    assertThat(third.hashCode(), is(first.hashCode()));
+    assertThat(third, not(first));
+  }
+
   @Test
   public void buildVertex() throws Exception {
     Vertex vertex = new Vertex().setName("test");
@@ -0,0 +1,156 @@
+package org.graphwalker.core.statistics;
+
+/*
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2014 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.graphwalker.core.machine.Context;
+import org.graphwalker.core.machine.TestExecutionContext;
+import org.graphwalker.core.model.Edge;
+import org.graphwalker.core.model.Element;
+import org.graphwalker.core.model.Model;
+import org.graphwalker.core.model.Vertex;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentProfilerTest {
+
+  private static final int THREADS = 4;
+  private static final int STEPS = 10000;
+
+  private final Vertex vertex = new Vertex().setName("v1");
+  private final Edge edge = new Edge().setName("e1").setSourceVertex(vertex).setTargetVertex(vertex).setDependency(90);
+  private final Model model = new Model().addEdge(edge);
+
+  @Test
+  public void singleContext() throws Exception {
+    Profiler profiler = new ConcurrentProfiler();
+    Context context = new TestExecutionContext().setModel(model.build());
+    profiler.addContext(context);
+    assertFalse(profiler.isVisited(context, vertex.build()));
+    assertThat(profiler.getUnvisitedElements(context).size(), is(2));
+    assertNull(profiler.getProfile(context, vertex.build()));
+    step(profiler, context, 3);
+    assertTrue(profiler.isVisited(context, edge.build()));
+    assertThat(profiler.getTotalVisitCount(), is(6L));
+    assertThat(profiler.getVisitCount(context, vertex.build()), is(3L));
+    assertThat(profiler.getVisitedEdgeCount(context), is(1L));
+    assertThat(profiler.getVisitedEdgeCount(context, 50), is(1L));
+    assertThat(profiler.getVisitedEdgeCount(context, 100), is(0L));
+    assertThat(profiler.getVisitedVertexCount(context), is(1L));
+    assertThat(profiler.getVisitedEdges(context).size(), is(1));
+    assertThat(profiler.getUnvisitedElements().size(), is(0));
+    assertThat(profiler.getExecutionPath().size(), is(6));
+    assertThat(profiler.getProfiles().size(), is(2));
+    Profile profile = profiler.getProfile(context, vertex.build());
+    assertThat(profile.getExecutionCount(), is(3L));
+    assertTrue(profile.getMinExecutionTime() <= profile.getMaxExecutionTime());
+    assertThat(profile.getHistogram().getTotalCount(), is(3L));
+    assertThat(profiler.getHistogram(context).getTotalCount(), is(6L));
+  }
+
+  @Test
+  public void concurrentContexts() throws Exception {
+    Profiler profiler = new ConcurrentProfiler();
+    List<Context> contexts = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      Context context = new TestExecutionContext().setModel(model.build());
+      profiler.addContext(context);
+      contexts.add(context);
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (Context context : contexts) {
+        futures.add(executor.submit(() -> step(profiler, context, STEPS)));
+      }
+      Future<?> reader = executor.submit(() -> {
+        while (profiler.getTotalVisitCount() < 2L * THREADS * STEPS) {
+          profiler.getProfiles();
+          profiler.getUnvisitedElements();
+          for (Context context : contexts) {
+            profiler.getHistogram(context);
+          }
+        }
+      });
+      for (Future<?> future : futures) {
+        future.get(1, TimeUnit.MINUTES);
+      }
+      reader.get(1, TimeUnit.MINUTES);
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(profiler.getTotalVisitCount(), is(2L * THREADS * STEPS));
+    assertThat(profiler.getExecutionPath().size(), is(ConcurrentProfiler.DEFAULT_CAPACITY));
+    for (Context context : contexts) {
+      assertThat(profiler.getVisitCount(context, vertex.build()), is((long) STEPS));
+      assertThat(profiler.getProfile(context, edge.build()).getExecutionCount(), is((long) STEPS));
+      assertThat(profiler.getHistogram(context).getTotalCount(), is(2L * STEPS));
+      assertThat(profiler.getVisitedEdgeCount(context), is(1L));
+    }
+  }
+
+  @Test
+  public void recentExecutions() throws Exception {
+    Profiler profiler = new ConcurrentProfiler(3);
+    Context context = new TestExecutionContext().setModel(model.build());
+    profiler.addContext(context);
+    step(profiler, context, 2);
+    List<Execution> executionPath = profiler.getExecutionPath();
+    assertThat(executionPath.size(), is(3));
+    assertThat(executionPath.get(0).getElement(), is(edge.build()));
+    assertThat(executionPath.get(1).getElement(), is(vertex.build()));
+    assertThat(executionPath.get(2).getElement(), is(edge.build()));
+    assertThat(profiler.getTotalVisitCount(), is(4L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidCapacity() throws Exception {
+    new ConcurrentProfiler(0);
+  }
+
+  private void step(Profiler profiler, Context context, int steps) {
+    for (int i = 0; i < steps; i++) {
+      for (Element element : Arrays.asList(vertex.build(), edge.build())) {
+        context.setCurrentElement(element);
+        profiler.start(context);
+        profiler.stop(context);
+      }
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package org.graphwalker.core.statistics;
+
+/*-
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2017 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void buckets() throws Exception {
+    int previousIndex = -1;
+    for (long value = 0; value < 100000; value++) {
+      int index = LatencyHistogram.getIndex(value);
+      assertTrue(index == previousIndex || index == previousIndex + 1);
+      assertTrue(value <= LatencyHistogram.getHighestEquivalentValue(index));
+      assertTrue(index == 0 || value > LatencyHistogram.getHighestEquivalentValue(index - 1));
+      previousIndex = index;
+    }
+  }
+
+  @Test
+  public void rows() throws Exception {
+    for (int index = 0; index < LatencyHistogram.BUCKET_COUNT; index++) {
+      int row = LatencyHistogram.getRow(index);
+      int offset = LatencyHistogram.getOffset(index);
+      assertTrue(row < LatencyHistogram.ROW_COUNT);
+      assertTrue(offset < LatencyHistogram.getRowLength(row));
+      assertThat(LatencyHistogram.getIndex(row, offset), is(index));
+    }
+  }
+
+  @Test
+  public void percentiles() throws Exception {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long value = 1; value <= 10000; value++) {
+      histogram.recordValue(value * 1000);
+    }
+    assertThat(histogram.getTotalCount(), is(10000L));
+    assertThat(histogram.getMinValue(), is(1000L));
+    assertThat(histogram.getMaxValue(), is(10000000L));
+    assertWithin(histogram.getValueAtPercentile(50.0), 5000000L);
+    assertWithin(histogram.getValueAtPercentile(99.0), 9900000L);
+    assertWithin(histogram.getValueAtPercentile(99.9), 9990000L);
+    assertThat(histogram.getValueAtPercentile(100.0), is(10000000L));
+    assertWithin(histogram.getValueAtPercentile(0.0), 1000L);
+    assertThat(histogram.getValueAtPercentile(50.0, TimeUnit.MILLISECONDS), is(5L));
+  }
+
+  @Test
+  public void exactSmallValues() throws Exception {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.recordValue(3);
+    histogram.recordValue(7);
+    histogram.recordValue(-1);
+    assertThat(histogram.getValueAtPercentile(50.0), is(3L));
+    assertThat(histogram.getValueAtPercentile(99.0), is(7L));
+    assertThat(histogram.getMinValue(), is(0L));
+  }
+
+  @Test
+  public void largeValues() throws Exception {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.recordValue(Long.MAX_VALUE);
+    histogram.recordValue(LatencyHistogram.HIGHEST_TRACKABLE_VALUE);
+    assertThat(histogram.getValueAtPercentile(100.0), is(Long.MAX_VALUE));
+    assertTrue(histogram.getValueAtPercentile(50.0) >= LatencyHistogram.HIGHEST_TRACKABLE_VALUE);
+  }
+
+  @Test
+  public void add() throws Exception {
+    LatencyHistogram first = new LatencyHistogram();
+    LatencyHistogram second = new LatencyHistogram();
+    first.recordValue(10);
+    second.recordValue(20);
+    second.recordValue(30);
+    first.add(second);
+    assertThat(first.getTotalCount(), is(3L));
+    assertThat(first.getMinValue(), is(10L));
+    assertThat(first.getMaxValue(), is(30L));
+    assertThat(first.getValueAtPercentile(50.0), is(20L));
+  }
+
+  @Test(expected = MissingExecutionException.class)
+  public void noValues() throws Exception {
+    new LatencyHistogram().getValueAtPercentile(50.0);
+  }
+
+  private static void assertWithin(long actual, long expected) {
+    assertTrue(actual + " is not within 3% of " + expected, Math.abs(actual - expected) <= expected * 0.03);
+  }
+}
@@ -98,6 +98,23 @@ public class ProfileTest {
     assertThat(profile.getTotalExecutionTime(), is(0L));
   }
 
+  @Test
+  public void runningProfile() throws Exception {
+    Profile profile = new Profile(context, vertex);
+    assertThat(profile.getExecutionCount(), is(0L));
+    profile.addExecution(2000);
+    profile.addExecution(1000);
+    profile.addExecution(4000);
+    profile.addExecution(3000);
+    assertThat(profile.getExecutionCount(), is(4L));
+    assertThat(profile.getAverageExecutionTime(), is(2500L));
+    assertThat(profile.getMinExecutionTime(), is(1000L));
+    assertThat(profile.getMaxExecutionTime(), is(4000L));
+    assertThat(profile.getFirstExecutionTime(), is(2000L));
+    assertThat(profile.getLastExecutionTime(), is(3000L));
+    assertThat(profile.getTotalExecutionTime(TimeUnit.MICROSECONDS), is(10L));
+  }
+
   @Test(expected = MissingExecutionException.class)
   public void noAverageExecutionTime() throws Exception {
     new Profile(context, vertex, Collections.emptyList()).getAverageExecutionTime();
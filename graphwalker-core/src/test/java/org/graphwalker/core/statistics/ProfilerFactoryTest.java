@@ -0,0 +1,76 @@
+package org.graphwalker.core.statistics;
+
+/*
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2014 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.graphwalker.core.machine.Context;
+import org.graphwalker.core.machine.TestExecutionContext;
+import org.graphwalker.core.model.Model;
+import org.graphwalker.core.model.Vertex;
+import org.junit.After;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ProfilerFactoryTest {
+
+  @After
+  public void clearProperties() {
+    System.clearProperty(ProfilerFactory.BUFFER_SIZE);
+    System.clearProperty(ProfilerFactory.CONCURRENT);
+  }
+
+  @Test
+  public void simpleProfiler() throws Exception {
+    assertThat(ProfilerFactory.createProfiler(1L), instanceOf(SimpleProfiler.class));
+  }
+
+  @Test
+  public void concurrentProfilerBuffer() throws Exception {
+    System.setProperty(ProfilerFactory.CONCURRENT, "true");
+    System.setProperty(ProfilerFactory.BUFFER_SIZE, "2");
+    Profiler profiler = ProfilerFactory.createProfiler(1L);
+    assertThat(profiler, instanceOf(ConcurrentProfiler.class));
+    Vertex vertex = new Vertex();
+    Context context = new TestExecutionContext().setModel(new Model().addVertex(vertex).build());
+    context.setCurrentElement(vertex.build());
+    for (int i = 0; i < 3; i++) {
+      profiler.start(context);
+      profiler.stop(context);
+    }
+    assertThat(profiler.getExecutionPath().size(), is(2));
+  }
+
+  @Test
+  public void fileName() throws Exception {
+    assertThat(ProfilerFactory.getFile(Paths.get("target", "path.tsv"), 42L), is(Paths.get("target", "path-42.tsv")));
+    assertThat(ProfilerFactory.getFile(Paths.get("path"), -42L), is(Paths.get("path--42")));
+  }
+}
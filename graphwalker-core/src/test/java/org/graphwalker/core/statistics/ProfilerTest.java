@@ -89,6 +89,59 @@ public final class ProfilerTest {
     assertThat(profiler.getProfiles().size(), is(2));
   }
 
+  @Test
+  public void visitedCounts() throws Exception {
+    Vertex v1 = new Vertex();
+    Edge e1 = new Edge().setSourceVertex(v1).setTargetVertex(v1).setDependency(50);
+    Edge e2 = new Edge().setSourceVertex(v1).setTargetVertex(v1).setDependency(90);
+    Context context = new TestExecutionContext().setModel(new Model().addEdge(e1).addEdge(e2).build());
+    Profiler profiler = new SimpleProfiler();
+    assertThat(profiler.getVisitedEdgeCount(context), is(0L));
+    for (Edge edge : Arrays.asList(e1, e1, e2)) {
+      context.setCurrentElement(v1.build());
+      profiler.start(context);
+      profiler.stop(context);
+      context.setCurrentElement(edge.build());
+      profiler.start(context);
+      profiler.stop(context);
+    }
+    assertThat(profiler.getVisitedVertexCount(context), is(1L));
+    assertThat(profiler.getVisitedEdgeCount(context), is(2L));
+    assertThat(profiler.getVisitedEdgeCount(context, 80), is(1L));
+    assertThat(profiler.getVisitedEdgeCount(context, 50), is(2L));
+    assertThat(profiler.getVisitedEdgeCount(context, 100), is(0L));
+  }
+
+  @Test
+  public void visitedElements() throws Exception {
+    Vertex v1 = new Vertex().setName("v1");
+    Vertex v2 = new Vertex().setName("v2");
+    Edge e1 = new Edge().setName("e1").setSourceVertex(v1).setTargetVertex(v2);
+    Edge e2 = new Edge().setName("e2").setSourceVertex(v2).setTargetVertex(v1);
+    Model model = new Model().addEdge(e1).addEdge(e2);
+    Context context = new TestExecutionContext().setModel(model.build());
+    Profiler profiler = new SimpleProfiler();
+    profiler.addContext(context);
+    assertThat(profiler.getUnvisitedElements(context).size(), is(4));
+    assertThat(profiler.getVisitedEdges(context).size(), is(0));
+    for (Vertex vertex : Arrays.asList(v2, v1)) {
+      context.setCurrentElement(vertex.build());
+      profiler.start(context);
+      profiler.stop(context);
+    }
+    context.setCurrentElement(e2.build());
+    profiler.start(context);
+    profiler.stop(context);
+    assertThat(profiler.getVisitedVertices(context), is(Arrays.asList(v1.build(), v2.build())));
+    assertThat(profiler.getVisitedEdges(context), is(Arrays.asList(e2.build())));
+    assertThat(profiler.getUnvisitedEdges(context), is(Arrays.asList(e1.build())));
+    assertThat(profiler.getUnvisitedVertices(context).size(), is(0));
+    assertThat(profiler.getUnvisitedElements(context), is(Arrays.asList(e1.build())));
+    Edge e3 = new Edge().setName("e3").setSourceVertex(v1).setTargetVertex(v1);
+    context.setModel(model.addEdge(e3).build());
+    assertThat(profiler.getUnvisitedEdges(context), is(Arrays.asList(e1.build(), e3.build())));
+    assertThat(profiler.getVisitedVertices(context).size(), is(2));
+  }
 
   /**
    * This test verifies that in a multi model scenario, where 2 models have elements with
@@ -0,0 +1,135 @@
+package org.graphwalker.core.statistics;
+
+/*
+ * #%L
+ * GraphWalker Core
+ * %%
+ * Copyright (C) 2005 - 2014 GraphWalker
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.graphwalker.core.machine.Context;
+import org.graphwalker.core.machine.TestExecutionContext;
+import org.graphwalker.core.model.Edge;
+import org.graphwalker.core.model.Element;
+import org.graphwalker.core.model.Model;
+import org.graphwalker.core.model.Vertex;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingProfilerTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final Vertex vertex = new Vertex().setId("v1");
+  private final Edge edge = new Edge().setId("e1").setSourceVertex(vertex).setTargetVertex(vertex).setDependency(90);
+  private final Context context = new TestExecutionContext().setModel(new Model().setName("m1").addEdge(edge).build());
+
+  private void step(Profiler profiler) {
+    for (Element element : Arrays.asList(vertex.build(), edge.build())) {
+      context.setCurrentElement(element);
+      profiler.start(context);
+      profiler.stop(context);
+    }
+  }
+
+  @Test
+  public void aggregates() throws Exception {
+    StreamingProfiler profiler = new StreamingProfiler(4);
+    profiler.addContext(context);
+    assertFalse(profiler.isVisited(context, vertex.build()));
+    assertThat(profiler.getUnvisitedElements(context).size(), is(2));
+    for (int i = 0; i < 10; i++) {
+      step(profiler);
+    }
+    assertTrue(profiler.isVisited(context, vertex.build()));
+    assertThat(profiler.getTotalVisitCount(), is(20L));
+    assertThat(profiler.getVisitCount(context, edge.build()), is(10L));
+    assertThat(profiler.getVisitedEdgeCount(context), is(1L));
+    assertThat(profiler.getVisitedEdgeCount(context, 80), is(1L));
+    assertThat(profiler.getVisitedVertexCount(context), is(1L));
+    assertThat(profiler.getUnvisitedElements().size(), is(0));
+    assertThat(profiler.getVisitedEdges(context).size(), is(1));
+    assertThat(profiler.getProfiles().size(), is(2));
+    Profile profile = profiler.getProfile(context, vertex.build());
+    assertThat(profile.getExecutionCount(), is(10L));
+    assertTrue(profile.getMinExecutionTime() <= profile.getAverageExecutionTime());
+    assertTrue(profile.getAverageExecutionTime() <= profile.getMaxExecutionTime());
+    assertTrue(profile.getTotalExecutionTime() <= profiler.getTotalExecutionTime(TimeUnit.NANOSECONDS));
+  }
+
+  @Test
+  public void recentExecutions() throws Exception {
+    StreamingProfiler profiler = new StreamingProfiler(3);
+    assertThat(profiler.getExecutionPath().size(), is(0));
+    step(profiler);
+    assertThat(profiler.getExecutionPath().size(), is(2));
+    step(profiler);
+    List<Execution> executionPath = profiler.getExecutionPath();
+    assertThat(executionPath.size(), is(3));
+    assertThat(executionPath.get(0).getElement(), is(edge.build()));
+    assertThat(executionPath.get(1).getElement(), is(vertex.build()));
+    assertThat(executionPath.get(2).getElement(), is(edge.build()));
+    assertTrue(executionPath.get(1).getTime() <= executionPath.get(2).getTime());
+  }
+
+  @Test
+  public void spillFile() throws Exception {
+    File file = new File(folder.getRoot(), "path.tsv");
+    try (StreamingProfiler profiler = new StreamingProfiler(1, file.toPath())) {
+      for (int i = 0; i < 5; i++) {
+        step(profiler);
+      }
+      assertThat(profiler.getExecutionPath().size(), is(1));
+    }
+    List<String> lines = Files.readAllLines(file.toPath());
+    assertThat(lines.size(), is(10));
+    assertThat(lines.get(0).split("\t")[2], is("m1"));
+    assertThat(lines.get(0).split("\t")[3], is("v1"));
+    assertThat(lines.get(9).split("\t")[3], is("e1"));
+  }
+
+  @Test(expected = MissingExecutionException.class)
+  public void noExecutions() throws Exception {
+    StreamingProfiler profiler = new StreamingProfiler();
+    context.setCurrentElement(vertex.build());
+    profiler.start(context);
+    profiler.getProfile(context, vertex.build()).getMinExecutionTime();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidCapacity() throws Exception {
+    new StreamingProfiler(0);
+  }
+}
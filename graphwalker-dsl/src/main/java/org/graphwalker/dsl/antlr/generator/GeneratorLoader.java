@@ -172,6 +172,8 @@ public class GeneratorLoader extends GeneratorParserBaseListener {
       pathGenerators.add(new AStarPath((ReachedStopCondition) stopCondition));
     } else if ("shortest_all_paths".equals(generatorName) || "shortestallpaths".equals(generatorName)) {
       pathGenerators.add(new ShortestAllPaths(stopCondition));
+    } else if ("chinese_postman".equals(generatorName) || "chinesepostman".equals(generatorName) || "chinesepostmanpath".equals(generatorName)) {
+      pathGenerators.add(new ChinesePostmanPath(stopCondition));
     } else if ("predefined_path".equals(generatorName) || "predefinedpath".equals(generatorName)) {
       pathGenerators.add(new PredefinedPath(stopCondition));
     } else {
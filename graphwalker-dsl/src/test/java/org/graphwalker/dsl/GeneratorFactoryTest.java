@@ -109,6 +109,22 @@ public class GeneratorFactoryTest {
     assertThat(((EdgeCoverage) generator.getStopCondition()).getPercent(), is(100));
   }
 
+  @Test
+  public void chinese_postman_edge_coverage() {
+    PathGenerator generator = GeneratorFactory.parse("chinese_postman(edge_coverage(100))");
+    assertThat(generator, instanceOf(ChinesePostmanPath.class));
+    assertThat(generator.getStopCondition(), instanceOf(EdgeCoverage.class));
+    assertThat(((EdgeCoverage) generator.getStopCondition()).getPercent(), is(100));
+  }
+
+  @Test
+  public void chinesepostmanpath_edge_coverage() {
+    PathGenerator generator = GeneratorFactory.parse("chinesepostmanpath(edge_coverage(100))");
+    assertThat(generator, instanceOf(ChinesePostmanPath.class));
+    assertThat(generator.getStopCondition(), instanceOf(EdgeCoverage.class));
+    assertThat(((EdgeCoverage) generator.getStopCondition()).getPercent(), is(100));
+  }
+
   @Test
   public void shortestallpaths_edge_coverage() {
     PathGenerator generator = GeneratorFactory.parse("shortestallpaths(edge_coverage(100))");
@@ -149,11 +149,9 @@ public final class JsonContextFactory implements ContextFactory {
       if (jsonModel.getGenerator() != null) {
         context.setPathGenerator(GeneratorFactory.parse(jsonModel.getGenerator()));
       }
-      for (Element element : context.getModel().getElements()) {
-        if (element.getId().equals(jsonModel.getStartElementId())) {
-          context.setNextElement(element);
-          break;
-        }
+      Element startElement = context.getModel().getElementById(jsonModel.getStartElementId());
+      if (startElement != null) {
+        context.setNextElement(startElement);
       }
       contexts.add(context);
     }
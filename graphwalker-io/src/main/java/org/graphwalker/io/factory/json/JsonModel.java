@@ -157,23 +157,31 @@ public class JsonModel {
     }
 
     if (edges != null) {
+      Map<String, Vertex> verticesById = new HashMap<>();
+      for (Vertex vertex : model.getVertices()) {
+        verticesById.put(vertex.getId(), vertex);
+      }
       for (JsonEdge jsonEdge : getEdges()) {
         Edge edge = jsonEdge.getEdge();
-        for (Vertex vertex : model.getVertices()) {
-          if (vertex.getId().equals(jsonEdge.getSourceVertexId())) {
-            edge.setSourceVertex(vertex);
-          }
-          if (vertex.getId().equals(jsonEdge.getTargetVertexId())) {
-            edge.setTargetVertex(vertex);
-          }
+        Vertex sourceVertex = verticesById.get(jsonEdge.getSourceVertexId());
+        if (sourceVertex != null) {
+          edge.setSourceVertex(sourceVertex);
+        }
+        Vertex targetVertex = verticesById.get(jsonEdge.getTargetVertexId());
+        if (targetVertex != null) {
+          edge.setTargetVertex(targetVertex);
         }
         model.addEdge(edge);
       }
     }
 
     if (predefinedPathEdgeIds != null) {
+      Map<String, JsonEdge> edgesById = new HashMap<>();
+      for (JsonEdge jsonEdge : getEdges()) {
+        edgesById.putIfAbsent(jsonEdge.getEdge().getId(), jsonEdge);
+      }
       List<Edge> predefinedPath = getPredefinedPathEdgeIds().stream()
-        .map(this::findEdgeById)
+        .map(edgeId -> findEdgeById(edgesById, edgeId))
         .collect(Collectors.toList());
       model.setPredefinedPath(predefinedPath);
     }
@@ -256,9 +264,11 @@ public class JsonModel {
     }
   }
 
-  private Edge findEdgeById(String edgeId) {
-    return getEdges().stream().filter(edge -> edgeId.equals(edge.getEdge().getId()))
-      .findFirst().orElseThrow(() -> new ContextFactoryException("Edge with id \"" + edgeId + "\" could not be found in JsonModel"))
-      .getEdge();
+  private Edge findEdgeById(Map<String, JsonEdge> edgesById, String edgeId) {
+    JsonEdge jsonEdge = edgesById.get(edgeId);
+    if (jsonEdge == null) {
+      throw new ContextFactoryException("Edge with id \"" + edgeId + "\" could not be found in JsonModel");
+    }
+    return jsonEdge.getEdge();
   }
 }
@@ -28,6 +28,7 @@ package org.graphwalker.java.report;
 
 import org.graphwalker.core.machine.Context;
 import org.graphwalker.core.machine.Machine;
+import org.graphwalker.core.statistics.LatencyHistogram;
 import org.graphwalker.java.test.Executor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,7 +42,11 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import static org.graphwalker.core.common.Objects.isNotNull;
 
 /**
  * @author Nils Olsson
@@ -64,9 +69,12 @@ public class XMLReportGenerator {
   public void writeReport(File reportDirectory, Executor executor) {
     Testsuites testsuites = new Testsuites();
     List<Report> reports = new ArrayList<>();
-    Machine machine = executor.getMachine();
+    List<Context> contexts = new ArrayList<>();
+    for (Machine machine : executor.getMachines()) {
+      contexts.addAll(machine.getContexts());
+    }
 
-    Report report = new Report(machine, startTime);
+    Report report = new Report(contexts, startTime);
     Testsuite testsuite = new Testsuite();
     List<String> keys = new ArrayList<>(systemProperties.stringPropertyNames());
     Collections.sort(keys);
@@ -77,6 +85,12 @@ public class XMLReportGenerator {
       property.setValue(systemProperties.getProperty(name));
       properties.getProperty().add(property);
     }
+    Map<String, Integer> names = new HashMap<>();
+    for (Context context : contexts) {
+      String name = context.getClass().getName();
+      int count = names.merge(name, 1, Integer::sum);
+      addPercentiles(properties, 1 == count ? name : name + "[" + count + "]", context);
+    }
     testsuite.setName(TESTSUITE_NAME);
     testsuite.setProperties(properties);
     testsuite.setTests(report.getTestsAsString());
@@ -84,7 +98,7 @@ public class XMLReportGenerator {
     testsuite.setErrors(report.getErrorsAsString());
     testsuite.setTime(report.getTimeAsString());
     testsuite.setTimestamp(report.getTimestamp());
-    for (Context context : machine.getContexts()) {
+    for (Context context : contexts) {
       Testcase testcase = new Testcase();
       testcase.setName(context.getClass().getSimpleName());
       testcase.setClassname(context.getClass().getName());
@@ -111,6 +125,27 @@ public class XMLReportGenerator {
     writeReport(reportDirectory, testsuites);
   }
 
+  /**
+   * Adds the execution time percentiles of a context, in nanoseconds, as properties of the test suite.
+   * The properties are named after the class of the context, contexts of the same class are numbered.
+   */
+  private void addPercentiles(Properties properties, String name, Context context) {
+    LatencyHistogram histogram = context.getProfiler().getHistogram(context);
+    if (isNotNull(histogram) && 0 < histogram.getTotalCount()) {
+      String prefix = "graphwalker." + name + ".executionTime.";
+      addProperty(properties, prefix + "p50", histogram.getValueAtPercentile(50.0));
+      addProperty(properties, prefix + "p99", histogram.getValueAtPercentile(99.0));
+      addProperty(properties, prefix + "p999", histogram.getValueAtPercentile(99.9));
+    }
+  }
+
+  private void addProperty(Properties properties, String name, long value) {
+    Property property = new Property();
+    property.setName(name);
+    property.setValue(String.valueOf(value));
+    properties.getProperty().add(property);
+  }
+
   private void writeReport(File reportDirectory, Testsuites testsuites) {
     try {
       JAXBContext context = JAXBContext.newInstance("org.graphwalker.java.report");
@@ -184,10 +219,10 @@ public class XMLReportGenerator {
     private int time = 0;
     private final String timestamp;
 
-    Report(Machine machine, Date startTime) {
+    Report(List<Context> contexts, Date startTime) {
       DateFormat formatter = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
       timestamp = formatter.format(startTime);
-      for (Context context : machine.getContexts()) {
+      for (Context context : contexts) {
         tests++;
         switch (context.getExecutionStatus()) {
           case FAILED: {
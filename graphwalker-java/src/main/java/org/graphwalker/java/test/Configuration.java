@@ -38,6 +38,7 @@ public final class Configuration {
   private final Set<String> includes = new HashSet<>();
   private final Set<String> excludes = new HashSet<>();
   private final Set<String> groups = new HashSet<>();
+  private boolean parallel = false;
 
   public Set<String> getIncludes() {
     return includes.isEmpty() ? DEFAULT : includes;
@@ -83,4 +84,20 @@ public final class Configuration {
     groups.add(group);
     return this;
   }
+
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  /**
+   * When enabled, tests that share no shared states with each other are executed
+   * in separate machines, on separate threads.
+   * Every machine has its own global execution environment, so tests whose guards or actions
+   * use {@code global.} variables are always kept in the same machine. Tests that have no start
+   * element must share a state with a test that has one, otherwise the execution fails.
+   */
+  public Configuration setParallel(boolean parallel) {
+    this.parallel = parallel;
+    return this;
+  }
 }
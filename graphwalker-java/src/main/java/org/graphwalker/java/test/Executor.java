@@ -33,6 +33,7 @@ import org.graphwalker.core.machine.MachineException;
 import java.io.File;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Properties;
 
 /**
@@ -48,6 +49,8 @@ public interface Executor {
 
   Machine getMachine();
 
+  List<Machine> getMachines();
+
   Result getResult();
 
   boolean isFailure(Context context);
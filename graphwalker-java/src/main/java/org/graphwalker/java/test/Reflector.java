@@ -49,6 +49,7 @@ public final class Reflector {
   private final Method setIncludes;
   private final Method setExcludes;
   private final Method setGroups;
+  private final Method setParallel;
   private final Method execute;
   private final Method reportResults;
   private final Method setErrors;
@@ -79,6 +80,7 @@ public final class Reflector {
     this.setIncludes = Reflections.getMethod(configurationClass, "setIncludes", collectionClass);
     this.setExcludes = Reflections.getMethod(configurationClass, "setExcludes", collectionClass);
     this.setGroups = Reflections.getMethod(configurationClass, "setGroups", collectionClass);
+    this.setParallel = Reflections.getMethod(configurationClass, "setParallel", Boolean.TYPE);
     this.execute = Reflections.getMethod(executorClass, "execute", Boolean.TYPE);
     this.reportResults = Reflections.getMethod(executorClass, "reportResults", File.class, Date.class, Properties.class);
     this.setErrors = Reflections.getMethod(Result.class, "setErrors", List.class);
@@ -109,6 +111,7 @@ public final class Reflector {
     Reflections.invoke(newConfiguration, setIncludes, configuration.getIncludes());
     Reflections.invoke(newConfiguration, setExcludes, configuration.getExcludes());
     Reflections.invoke(newConfiguration, setGroups, configuration.getGroups());
+    Reflections.invoke(newConfiguration, setParallel, configuration.isParallel());
     return newConfiguration;
   }
 
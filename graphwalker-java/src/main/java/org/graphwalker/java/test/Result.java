@@ -32,15 +32,20 @@ import org.graphwalker.core.machine.MachineException;
 import org.graphwalker.core.machine.RequirementStatus;
 import org.graphwalker.core.model.Element;
 import org.graphwalker.core.model.Requirement;
+import org.graphwalker.core.statistics.LatencyHistogram;
+import org.graphwalker.core.statistics.Profile;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import static org.graphwalker.core.common.Objects.isNotNull;
 import static org.graphwalker.core.common.Objects.isNotNullOrEmpty;
 
 /**
@@ -83,6 +88,10 @@ public final class Result {
   }
 
   public void updateResults(Machine machine, Map<Context, MachineException> failures) {
+    updateResults(Collections.singletonList(machine), failures);
+  }
+
+  public void updateResults(Collection<Machine> machines, Map<Context, MachineException> failures) {
     int modelCount = 0;
     int completedModelCount = 0;
     int incompleteModelCount = 0;
@@ -96,78 +105,105 @@ public final class Result {
     int totalNumberOfRequirementsNotCovered = 0;
     int totalNumberOfRequirementsPassed = 0;
     int totalNumberOfRequirementsFailed = 0;
+    int totalNumberOfVisitedEdges = 0;
+    int totalNumberOfVisitedVertices = 0;
 
     JSONArray edgesNotVisitedJson = new JSONArray();
     JSONArray verticesNotVisitedJson = new JSONArray();
     JSONArray requirementsNotCoveredJson = new JSONArray();
     JSONArray requirementsPassedJson = new JSONArray();
     JSONArray requirementsFailedJson = new JSONArray();
+    JSONArray seedsJson = new JSONArray();
+    JSONArray executionTimesJson = new JSONArray();
 
-    for (Context context : machine.getContexts()) {
-      switch (context.getExecutionStatus()) {
-        case COMPLETED: {
-          completedModelCount++;
-        }
-        break;
-        case FAILED: {
-          failedModelCount++;
+    for (Machine machine : machines) {
+      seedsJson.put(machine.getSeed());
+      for (Context context : machine.getContexts()) {
+        switch (context.getExecutionStatus()) {
+          case COMPLETED: {
+            completedModelCount++;
+          }
+          break;
+          case FAILED: {
+            failedModelCount++;
+          }
+          break;
+          case NOT_EXECUTED: {
+            notExecutedModelCount++;
+          }
+          break;
+          case EXECUTING: {
+            incompleteModelCount++;
+          }
         }
-        break;
-        case NOT_EXECUTED: {
-          notExecutedModelCount++;
+
+        for (Requirement r : context.getRequirements(RequirementStatus.NOT_COVERED)) {
+          JSONObject jsonElement = new JSONObject();
+          jsonElement.put("requirementKey", r.getKey());
+          jsonElement.put("modelName", context.getModel().getName());
+          requirementsNotCoveredJson.put(jsonElement);
         }
-        break;
-        case EXECUTING: {
-          incompleteModelCount++;
+
+        for (Requirement r : context.getRequirements(RequirementStatus.PASSED)) {
+          JSONObject jsonElement = new JSONObject();
+          jsonElement.put("requirementKey", r.getKey());
+          jsonElement.put("modelName", context.getModel().getName());
+          requirementsPassedJson.put(jsonElement);
         }
-      }
 
-      for (Requirement r : context.getRequirements(RequirementStatus.NOT_COVERED)) {
-        JSONObject jsonElement = new JSONObject();
-        jsonElement.put("requirementKey", r.getKey());
-        jsonElement.put("modelName", context.getModel().getName());
-        requirementsNotCoveredJson.put(jsonElement);
-      }
+        for (Requirement r : context.getRequirements(RequirementStatus.FAILED)) {
+          JSONObject jsonElement = new JSONObject();
+          jsonElement.put("RequirementKey", r.getKey());
+          jsonElement.put("modelName", context.getModel().getName());
+          requirementsFailedJson.put(jsonElement);
+        }
 
-      for (Requirement r : context.getRequirements(RequirementStatus.PASSED)) {
-        JSONObject jsonElement = new JSONObject();
-        jsonElement.put("requirementKey", r.getKey());
-        jsonElement.put("modelName", context.getModel().getName());
-        requirementsPassedJson.put(jsonElement);
-      }
+        for (Element edge : context.getProfiler().getUnvisitedEdges(context)) {
+          JSONObject jsonElement = new JSONObject();
+          jsonElement.put("edgeName", edge.getName());
+          jsonElement.put("edgeId", edge.getId());
+          jsonElement.put("modelName", context.getModel().getName());
+          edgesNotVisitedJson.put(jsonElement);
+        }
 
-      for (Requirement r : context.getRequirements(RequirementStatus.FAILED)) {
-        JSONObject jsonElement = new JSONObject();
-        jsonElement.put("RequirementKey", r.getKey());
-        jsonElement.put("modelName", context.getModel().getName());
-        requirementsFailedJson.put(jsonElement);
-      }
+        for (Element vertex : context.getProfiler().getUnvisitedVertices(context)) {
+          JSONObject jsonElement = new JSONObject();
+          jsonElement.put("vertexName", vertex.getName());
+          jsonElement.put("vertexId", vertex.getId());
+          jsonElement.put("modelName", context.getModel().getName());
+          verticesNotVisitedJson.put(jsonElement);
+        }
 
-      for (Element edge : context.getProfiler().getUnvisitedEdges(context)) {
-        JSONObject jsonElement = new JSONObject();
-        jsonElement.put("edgeName", edge.getName());
-        jsonElement.put("edgeId", edge.getId());
-        jsonElement.put("modelName", context.getModel().getName());
-        edgesNotVisitedJson.put(jsonElement);
-      }
+        LatencyHistogram histogram = context.getProfiler().getHistogram(context);
+        if (isNotNull(histogram) && 0 < histogram.getTotalCount()) {
+          JSONObject jsonContext = createPercentiles(histogram);
+          jsonContext.put("modelName", context.getModel().getName());
+          JSONArray jsonElements = new JSONArray();
+          for (Element element : context.getModel().getElements()) {
+            Profile profile = context.getProfiler().getProfile(context, element);
+            if (isNotNull(profile) && 0 < profile.getExecutionCount()) {
+              JSONObject jsonElement = createPercentiles(profile.getHistogram());
+              jsonElement.put("elementName", element.getName());
+              jsonElement.put("elementId", element.getId());
+              jsonElements.put(jsonElement);
+            }
+          }
+          jsonContext.put("elements", jsonElements);
+          executionTimesJson.put(jsonContext);
+        }
 
-      for (Element vertex : context.getProfiler().getUnvisitedVertices(context)) {
-        JSONObject jsonElement = new JSONObject();
-        jsonElement.put("vertexName", vertex.getName());
-        jsonElement.put("vertexId", vertex.getId());
-        jsonElement.put("modelName", context.getModel().getName());
-        verticesNotVisitedJson.put(jsonElement);
+        modelCount++;
+        totalNumberOfEdges += context.getModel().getEdges().size();
+        totalNumberOfVertices += context.getModel().getVertices().size();
+        totalNumberOfUnvisitedVertices += context.getProfiler().getUnvisitedVertices(context).size();
+        totalNumberOfUnvisitedEdges += context.getProfiler().getUnvisitedEdges(context).size();
+        totalNumberOfRequirements += context.getRequirements().size();
+        totalNumberOfRequirementsNotCovered += context.getRequirements(RequirementStatus.NOT_COVERED).size();
+        totalNumberOfRequirementsPassed += context.getRequirements(RequirementStatus.PASSED).size();
+        totalNumberOfRequirementsFailed += context.getRequirements(RequirementStatus.FAILED).size();
       }
-
-      modelCount++;
-      totalNumberOfEdges += context.getModel().getEdges().size();
-      totalNumberOfVertices += context.getModel().getVertices().size();
-      totalNumberOfUnvisitedVertices += context.getProfiler().getUnvisitedVertices(context).size();
-      totalNumberOfUnvisitedEdges += context.getProfiler().getUnvisitedEdges(context).size();
-      totalNumberOfRequirements += context.getRequirements().size();
-      totalNumberOfRequirementsNotCovered += context.getRequirements(RequirementStatus.NOT_COVERED).size();
-      totalNumberOfRequirementsPassed += context.getRequirements(RequirementStatus.PASSED).size();
-      totalNumberOfRequirementsFailed += context.getRequirements(RequirementStatus.FAILED).size();
+      totalNumberOfVisitedEdges += machine.getProfiler().getVisitedEdges().size();
+      totalNumberOfVisitedVertices += machine.getProfiler().getVisitedVertices().size();
     }
 
     results = new JSONObject();
@@ -178,21 +214,23 @@ public final class Result {
     results.put("totalNotExecutedNumberOfModels", notExecutedModelCount);
     results.put("totalNumberOfEdges", totalNumberOfEdges);
     results.put("totalNumberOfUnvisitedEdges", totalNumberOfUnvisitedEdges);
-    results.put("totalNumberOfVisitedEdges", machine.getProfiler().getVisitedEdges().size());
+    results.put("totalNumberOfVisitedEdges", totalNumberOfVisitedEdges);
     if (totalNumberOfEdges > 0) {
       results.put("edgeCoverage",
                   100 * (totalNumberOfEdges - totalNumberOfUnvisitedEdges) / totalNumberOfEdges);
     }
     results.put("totalNumberOfVertices", totalNumberOfVertices);
     results.put("totalNumberOfUnvisitedVertices", totalNumberOfUnvisitedVertices);
-    results.put("totalNumberOfVisitedVertices", machine.getProfiler().getVisitedVertices().size());
+    results.put("totalNumberOfVisitedVertices", totalNumberOfVisitedVertices);
     if (totalNumberOfVertices > 0) {
       results.put("vertexCoverage", 100 * (totalNumberOfVertices - totalNumberOfUnvisitedVertices)
                                     / totalNumberOfVertices);
     }
 
+    results.put("seeds", seedsJson);
     results.put("edgesNotVisited", edgesNotVisitedJson);
     results.put("verticesNotVisited", verticesNotVisitedJson);
+    results.put("executionTimePercentiles", executionTimesJson);
 
     if (totalNumberOfRequirements > 0) {
       results.put("totalNumberOfRequirement", totalNumberOfRequirements);
@@ -218,6 +256,17 @@ public final class Result {
     }
   }
 
+  /**
+   * The execution time percentiles are given in nanoseconds.
+   */
+  private JSONObject createPercentiles(LatencyHistogram histogram) {
+    JSONObject jsonPercentiles = new JSONObject();
+    jsonPercentiles.put("p50", histogram.getValueAtPercentile(50.0));
+    jsonPercentiles.put("p99", histogram.getValueAtPercentile(99.0));
+    jsonPercentiles.put("p999", histogram.getValueAtPercentile(99.9));
+    return jsonPercentiles;
+  }
+
   private String getStackTrace(Throwable throwable) {
     StringWriter writer = new StringWriter();
     throwable.printStackTrace(new PrintWriter(writer, true));
@@ -33,7 +33,10 @@ import org.graphwalker.core.machine.Context;
 import org.graphwalker.core.machine.Machine;
 import org.graphwalker.core.machine.MachineException;
 import org.graphwalker.core.machine.SimpleMachine;
+import org.graphwalker.core.model.Action;
+import org.graphwalker.core.model.Edge.RuntimeEdge;
 import org.graphwalker.core.model.Element;
+import org.graphwalker.core.model.Vertex.RuntimeVertex;
 import org.graphwalker.dsl.antlr.generator.GeneratorFactory;
 import org.graphwalker.io.factory.ContextFactoryScanner;
 import org.graphwalker.io.factory.json.JsonContext;
@@ -43,6 +46,7 @@ import org.graphwalker.java.report.XMLReportGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -53,6 +57,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.graphwalker.core.common.Objects.*;
 import static org.graphwalker.core.model.Model.RuntimeModel;
@@ -87,40 +95,51 @@ public final class TestExecutor implements Executor, Observer {
   private final Configuration configuration;
   private final MachineConfiguration machineConfiguration;
   private final Map<Context, MachineException> failures = new HashMap<>();
-  private final Machine machine;
+  private final List<Machine> machines;
   private Result result;
 
   public TestExecutor(Configuration configuration) throws IOException {
     this.configuration = configuration;
     this.machineConfiguration = createMachineConfiguration(AnnotationUtils.findTests());
-    this.machine = createMachine(machineConfiguration);
-    this.machine.addObserver(this);
+    this.machines = createMachines(machineConfiguration);
   }
 
   public TestExecutor(Class<?>... tests) throws IOException {
-    this.configuration = new Configuration();
+    this(new Configuration(), tests);
+  }
+
+  public TestExecutor(Configuration configuration, Class<?>... tests) throws IOException {
+    this.configuration = configuration;
     this.machineConfiguration = createMachineConfiguration(Arrays.asList(tests));
-    this.machine = createMachine(machineConfiguration);
-    this.machine.addObserver(this);
+    this.machines = createMachines(machineConfiguration);
   }
 
   public TestExecutor(Context... contexts) {
-    this.configuration = new Configuration();
-    this.machineConfiguration = new MachineConfiguration();
-    this.machine = new SimpleMachine(contexts);
-    this.machine.addObserver(this);
+    this(Arrays.asList(contexts));
   }
 
   public TestExecutor(Collection<Context> contexts) {
     this.configuration = new Configuration();
     this.machineConfiguration = new MachineConfiguration();
-    this.machine = new SimpleMachine(contexts);
-    this.machine.addObserver(this);
+    this.machines = Collections.singletonList(new SimpleMachine(contexts));
+    this.machines.get(0).addObserver(this);
   }
 
+  /**
+   * Returns the machine that executes the tests. When running in parallel mode with more than
+   * one group of tests there is no single machine, use {@link #getMachines()} instead.
+   */
   @Override
   public Machine getMachine() {
-    return machine;
+    if (1 < machines.size()) {
+      throw new TestExecutionException("The tests are executed by " + machines.size() + " machines in parallel, use getMachines()");
+    }
+    return machines.get(0);
+  }
+
+  @Override
+  public List<Machine> getMachines() {
+    return machines;
   }
 
   private MachineConfiguration createMachineConfiguration(Collection<Class<?>> testClasses) {
@@ -210,9 +229,22 @@ public final class TestExecutor implements Executor, Observer {
   }
 
 
-  private Machine createMachine(MachineConfiguration machineConfiguration) throws IOException {
+  private List<Machine> createMachines(MachineConfiguration machineConfiguration) throws IOException {
     Collection<Context> contexts = createContexts(machineConfiguration);
+    List<Machine> machines = new ArrayList<>();
+    if (configuration.isParallel()) {
+      for (Collection<Context> group : groupContexts(contexts)) {
+        machines.add(createMachine(group));
+      }
+    } else {
+      machines.add(createMachine(contexts));
+    }
+    return Collections.unmodifiableList(machines);
+  }
+
+  private Machine createMachine(Collection<Context> contexts) {
     Machine machine = new SimpleMachine(contexts);
+    machine.addObserver(this);
     for (Context context : machine.getContexts()) {
       if (context instanceof Observer) {
         machine.addObserver((Observer) context);
@@ -221,6 +253,93 @@ public final class TestExecutor implements Executor, Observer {
     return machine;
   }
 
+  /**
+   * Splits the contexts into groups that can be executed independently of each other. Contexts
+   * end up in the same group when their models have a shared state name in common, and all
+   * contexts whose scripts use global variables end up in one group, since every machine has
+   * its own global execution environment. A group that has no start element can never be
+   * executed, so it fails the configuration.
+   */
+  private List<Collection<Context>> groupContexts(Collection<Context> contexts) {
+    if (contexts.isEmpty()) {
+      return Collections.singletonList(contexts);
+    }
+    List<Set<Context>> groups = new ArrayList<>();
+    for (Context context : contexts) {
+      Set<Context> group = new LinkedHashSet<>();
+      group.add(context);
+      Iterator<Set<Context>> iterator = groups.iterator();
+      while (iterator.hasNext()) {
+        Set<Context> candidate = iterator.next();
+        if (hasSharedStates(candidate, context) || (usesGlobals(context) && candidate.stream().anyMatch(this::usesGlobals))) {
+          group.addAll(candidate);
+          iterator.remove();
+        }
+      }
+      groups.add(group);
+    }
+    for (Set<Context> group : groups) {
+      if (group.stream().noneMatch(context -> isNotNull(context.getCurrentElement()) || isNotNull(context.getNextElement()))) {
+        throw new TestExecutionException("No start element in " + getNames(group)
+          + ", and no shared state with a test that has one, it cannot be executed in parallel mode");
+      }
+    }
+    return new ArrayList<>(groups);
+  }
+
+  private String getNames(Collection<Context> contexts) {
+    StringJoiner names = new StringJoiner(", ");
+    for (Context context : contexts) {
+      names.add(context.getClass().getName());
+    }
+    return names.toString();
+  }
+
+  private boolean usesGlobals(Context context) {
+    RuntimeModel model = context.getModel();
+    if (isNull(model)) {
+      return false;
+    }
+    if (usesGlobals(model.getActions())) {
+      return true;
+    }
+    for (RuntimeVertex vertex : model.getVertices()) {
+      if (usesGlobals(vertex.getActions())) {
+        return true;
+      }
+    }
+    for (RuntimeEdge edge : model.getEdges()) {
+      if (usesGlobals(edge.getActions()) || (isNotNull(edge.getGuard()) && usesGlobals(edge.getGuard().getScript()))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean usesGlobals(List<Action> actions) {
+    return isNotNull(actions) && actions.stream().anyMatch(action -> usesGlobals(action.getScript()));
+  }
+
+  private boolean usesGlobals(String script) {
+    return isNotNull(script) && script.contains("global.");
+  }
+
+  private boolean hasSharedStates(Collection<Context> group, Context context) {
+    if (isNull(context.getModel()) || !context.getModel().hasSharedStates()) {
+      return false;
+    }
+    for (Context member : group) {
+      if (isNotNull(member.getModel())) {
+        for (String sharedState : context.getModel().getSharedStates()) {
+          if (member.getModel().hasSharedState(sharedState)) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
   @Override
   public MachineConfiguration getMachineConfiguration() {
     return machineConfiguration;
@@ -234,23 +353,81 @@ public final class TestExecutor implements Executor, Observer {
   @Override
   public Result execute(boolean ignoreErrors) {
     result = new Result();
-    executeAnnotation(BeforeExecution.class, machine);
+    for (Machine machine : machines) {
+      executeAnnotation(BeforeExecution.class, machine);
+    }
     Throwable executionException = null;
+    for (MachineException exception : execute(machines)) {
+      failures.put(exception.getContext(), exception);
+      executionException = exception;
+    }
+    for (Machine machine : machines) {
+      executeAnnotation(AfterExecution.class, machine);
+    }
+    result.updateResults(machines, failures);
+    if (!ignoreErrors && !failures.isEmpty()) {
+      throw new TestExecutionException(result, ExceptionUtils.getRootCause(executionException));
+    }
+    return result;
+  }
+
+  private List<MachineException> execute(List<Machine> machines) {
+    List<MachineException> exceptions = new ArrayList<>();
+    if (1 == machines.size()) {
+      addIfNotNull(exceptions, execute(machines.get(0)));
+      return exceptions;
+    }
+    ExecutorService executorService = Executors.newFixedThreadPool(Math.min(machines.size(), Runtime.getRuntime().availableProcessors()));
+    try {
+      List<Future<MachineException>> futures = new ArrayList<>();
+      for (Machine machine : machines) {
+        futures.add(executorService.submit(() -> execute(machine)));
+      }
+      for (Future<MachineException> future : futures) {
+        addIfNotNull(exceptions, future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TestExecutionException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new TestExecutionException(e.getCause());
+    } finally {
+      executorService.shutdownNow();
+    }
+    return exceptions;
+  }
+
+  private MachineException execute(Machine machine) {
     try {
       while (machine.hasNextStep()) {
         machine.getNextStep();
       }
     } catch (MachineException e) {
       logger.error(e.getMessage());
-      failures.put(e.getContext(), e);
-      executionException = e;
+      return e;
+    } finally {
+      closeProfiler(machine);
     }
-    executeAnnotation(AfterExecution.class, machine);
-    result.updateResults(machine, failures);
-    if (!ignoreErrors && !failures.isEmpty()) {
-      throw new TestExecutionException(result, ExceptionUtils.getRootCause(executionException));
+    return null;
+  }
+
+  private void closeProfiler(Machine machine) {
+    if (machine.getProfiler() instanceof Closeable) {
+      try {
+        ((Closeable) machine.getProfiler()).close();
+      } catch (IOException e) {
+        logger.error(e.getMessage());
+      }
+    }
+  }
+
+  private void addIfNotNull(List<MachineException> exceptions, MachineException exception) {
+    if (isNotNull(exception)) {
+      exceptions.add(exception);
     }
-    return result;
   }
 
   @Override
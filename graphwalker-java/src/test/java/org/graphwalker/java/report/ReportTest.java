@@ -40,9 +40,14 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.xmlunit.matchers.HasXPathMatcher.hasXPath;
 
@@ -70,4 +75,26 @@ public class ReportTest {
     assertThat(xml, hasXPath("/testsuites/@failures"));
     assertThat(xml, hasXPath("/testsuites/@errors"));
   }
+
+  @Test
+  public void uniquePercentileProperties() throws IOException {
+    Date date = new Date();
+    DateFormat formatter = new SimpleDateFormat("yyyyMMdd'T'HHmmssSSS");
+    Path reportName = Paths.get(testFolder.getRoot().toPath().toString(),
+                                "TEST-GraphWalker-" + formatter.format(date) + ".xml");
+    XMLReportGenerator xmlReportGenerator = new XMLReportGenerator(date, new java.util.Properties());
+
+    List<Context> contexts = new JsonContextFactory().create(Paths.get("org/graphwalker/java/test/PetClinic.json"));
+    Executor executor = new TestExecutor(contexts);
+    executor.execute();
+    xmlReportGenerator.writeReport(testFolder.getRoot().toPath().toFile(), executor);
+    String xml = new String(Files.readAllBytes(reportName));
+    List<String> names = new ArrayList<>();
+    Matcher matcher = Pattern.compile("name=\"(graphwalker\\.[^\"]*\\.p50)\"").matcher(xml);
+    while (matcher.find()) {
+      names.add(matcher.group(1));
+    }
+    assertThat(names.size() > 1, is(true));
+    assertThat(new HashSet<>(names).size(), is(names.size()));
+  }
 }
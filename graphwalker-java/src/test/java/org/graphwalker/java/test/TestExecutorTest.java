@@ -29,6 +29,7 @@ package org.graphwalker.java.test;
 import io.github.classgraph.ClassGraph;
 import org.graphwalker.core.machine.Context;
 import org.graphwalker.core.machine.ExecutionContext;
+import org.graphwalker.core.model.Action;
 import org.graphwalker.core.model.Edge;
 import org.graphwalker.core.model.Model;
 import org.graphwalker.core.model.Vertex;
@@ -223,6 +224,36 @@ public class TestExecutorTest {
     Assert.assertTrue(failureList.get(0).startsWith("java.lang.RuntimeException"));
   }
 
+  @GraphWalker(start = "v_Start")
+  public static class ThrowOnFirstVisitTest extends ExecutionContext {
+
+    public ThrowOnFirstVisitTest() {
+      Vertex start = new Vertex().setName("v_Start");
+      Vertex failing = new Vertex().setName("v_Failing");
+      Model model = new Model()
+        .addEdge(new Edge().setName("e_ToFailing").setSourceVertex(start).setTargetVertex(failing));
+      setModel(model.build());
+    }
+
+    public void v_Failing() {
+      throw new RuntimeException();
+    }
+  }
+
+  @Test
+  public void reportFailureOnFirstVisit() throws IOException {
+    Executor executor = new TestExecutor(ThrowOnFirstVisitTest.class);
+    Result result = executor.execute(true);
+    Assert.assertTrue(result.hasErrors());
+    JSONArray percentiles = result.getResults().getJSONArray("executionTimePercentiles");
+    assertThat(percentiles.length(), is(1));
+    JSONArray elements = percentiles.getJSONObject(0).getJSONArray("elements");
+    assertThat(elements.length(), is(2));
+    for (Object element : elements) {
+      Assert.assertNotEquals("v_Failing", ((JSONObject) element).getString("elementName"));
+    }
+  }
+
   @Test
   public void doNotObscureRootCauseStack() throws IOException {
     Executor executor = new TestExecutor(ThrowExceptionTest.class);
@@ -263,7 +294,8 @@ public class TestExecutorTest {
       contexts.get(3),
       contexts.get(4)
     );
-    executor.execute();
+    Result result = executor.execute();
+    Assert.assertEquals(11111L, result.getResults().getJSONArray("seeds").getLong(0));
 
     List<String> actualPath = new ArrayList<String>();
     for (Execution execution: executor.getMachine().getProfiler().getExecutionPath()) {
@@ -636,4 +668,104 @@ public class TestExecutorTest {
       "971ec0b8-468d-11e7-a919-92ebcb67fe33"
     )).toArray(), actualPath.toArray());
   }
+
+  @GraphWalker(start = "start", value = "random(edge_coverage(100))")
+  public static class ParallelSharedStateA extends ExecutionContext {
+
+    public ParallelSharedStateA() {
+      Vertex vertex = new Vertex().setName("start").setSharedState("SHARED");
+      setModel(new Model().addEdge(new Edge().setSourceVertex(vertex).setTargetVertex(vertex)).build());
+    }
+  }
+
+  @GraphWalker(value = "random(edge_coverage(100))")
+  public static class ParallelSharedStateB extends ExecutionContext {
+
+    public ParallelSharedStateB() {
+      Vertex vertex = new Vertex().setName("start").setSharedState("SHARED");
+      setModel(new Model().addEdge(new Edge().setSourceVertex(vertex).setTargetVertex(vertex)).build());
+    }
+  }
+
+  @GraphWalker(start = "start", value = "random(edge_coverage(100))")
+  public static class ParallelIndependent extends ExecutionContext {
+
+    public ParallelIndependent() {
+      Vertex vertex = new Vertex().setName("start");
+      setModel(new Model().addEdge(new Edge().setSourceVertex(vertex).setTargetVertex(vertex)).build());
+    }
+  }
+
+  @Test
+  public void parallelExecution() throws IOException {
+    Configuration configuration = new Configuration().setParallel(true);
+    Executor executor = new TestExecutor(configuration, ParallelSharedStateA.class, ParallelSharedStateB.class, ParallelIndependent.class);
+    assertThat(executor.getMachines().size(), is(2));
+    Result result = executor.execute();
+    assertThat(result.getResults().getInt("totalNumberOfModels"), is(3));
+    assertThat(result.getResults().getInt("totalNumberOfUnvisitedEdges"), is(0));
+    assertThat(result.getResults().getInt("totalFailedNumberOfModels"), is(0));
+    JSONArray percentiles = result.getResults().getJSONArray("executionTimePercentiles");
+    assertThat(percentiles.length(), is(3));
+    for (int i = 0; i < percentiles.length(); i++) {
+      JSONObject percentile = percentiles.getJSONObject(i);
+      Assert.assertTrue(percentile.getLong("p50") <= percentile.getLong("p99"));
+      Assert.assertTrue(percentile.getLong("p99") <= percentile.getLong("p999"));
+      Assert.assertTrue(percentile.getJSONArray("elements").length() > 0);
+    }
+  }
+
+  @Test(expected = TestExecutionException.class)
+  public void parallelMachine() throws IOException {
+    Configuration configuration = new Configuration().setParallel(true);
+    Executor executor = new TestExecutor(configuration, ParallelSharedStateA.class, ParallelIndependent.class);
+    executor.getMachine();
+  }
+
+  @GraphWalker(start = "start", value = "random(edge_coverage(100))")
+  public static class ParallelGlobalA extends ExecutionContext {
+
+    public ParallelGlobalA() {
+      Vertex vertex = new Vertex().setName("start");
+      setModel(new Model()
+        .addAction(new Action("global.count = 0;"))
+        .addEdge(new Edge().setSourceVertex(vertex).setTargetVertex(vertex).addAction(new Action("global.count++;")))
+        .build());
+    }
+  }
+
+  @GraphWalker(start = "start", value = "random(edge_coverage(100))")
+  public static class ParallelGlobalB extends ExecutionContext {
+
+    public ParallelGlobalB() {
+      Vertex vertex = new Vertex().setName("start");
+      setModel(new Model()
+        .addEdge(new Edge().setSourceVertex(vertex).setTargetVertex(vertex).addAction(new Action("global.count++;")))
+        .build());
+    }
+  }
+
+  @Test
+  public void parallelGlobals() throws IOException {
+    Configuration configuration = new Configuration().setParallel(true);
+    Executor executor = new TestExecutor(configuration, ParallelGlobalA.class, ParallelGlobalB.class, ParallelIndependent.class);
+    assertThat(executor.getMachines().size(), is(2));
+    Result result = executor.execute();
+    assertThat(result.getResults().getInt("totalFailedNumberOfModels"), is(0));
+  }
+
+  @GraphWalker(value = "random(edge_coverage(100))")
+  public static class ParallelUnstartable extends ExecutionContext {
+
+    public ParallelUnstartable() {
+      Vertex vertex = new Vertex().setName("start");
+      setModel(new Model().addEdge(new Edge().setSourceVertex(vertex).setTargetVertex(vertex)).build());
+    }
+  }
+
+  @Test(expected = TestExecutionException.class)
+  public void parallelUnstartable() throws IOException {
+    Configuration configuration = new Configuration().setParallel(true);
+    new TestExecutor(configuration, ParallelUnstartable.class, ParallelIndependent.class);
+  }
 }
@@ -85,6 +85,9 @@ public final class TestMojo extends DefaultMojoBase {
   @Parameter(property = "graphwalker.groups", defaultValue = "*")
   private String groups;
 
+  @Parameter(property = "graphwalker.parallel", defaultValue = "false")
+  private boolean parallel;
+
   protected List<String> getClasspathElements() {
     return classpathElements;
   }
@@ -127,6 +130,10 @@ public final class TestMojo extends DefaultMojoBase {
     return groups;
   }
 
+  protected boolean getParallel() {
+    return parallel;
+  }
+
   protected Properties createProperties() {
     Properties properties = (Properties) System.getProperties().clone();
     properties.putAll((Properties) getMavenProject().getProperties().clone());
@@ -209,6 +216,7 @@ public final class TestMojo extends DefaultMojoBase {
     for (String group : getGroups().split(",")) {
       configuration.addGroup(group.trim());
     }
+    configuration.setParallel(getParallel());
     return configuration;
   }
 
@@ -218,6 +226,7 @@ public final class TestMojo extends DefaultMojoBase {
       getLog().info("    Include = " + configuration.getIncludes());
       getLog().info("    Exclude = " + configuration.getExcludes());
       getLog().info("     Groups = " + configuration.getGroups());
+      getLog().info("   Parallel = " + configuration.isParallel());
       getLog().info("");
       getLog().info("Tests:");
       if (null == reflector.getMachineConfiguration() || reflector.getMachineConfiguration().getContextConfigurations().isEmpty()) {
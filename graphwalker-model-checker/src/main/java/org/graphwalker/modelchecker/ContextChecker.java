@@ -1,8 +1,10 @@
 package org.graphwalker.modelchecker;
 
+import org.graphwalker.core.algorithm.StronglyConnectedComponents;
 import org.graphwalker.core.condition.EdgeCoverage;
 import org.graphwalker.core.generator.RandomPath;
 import org.graphwalker.core.machine.Context;
+import org.graphwalker.core.model.Element;
 import org.graphwalker.core.model.Vertex;
 
 import java.util.ArrayList;
@@ -41,6 +43,21 @@ public class ContextChecker {
       return issues;
     }
 
+    // Check for elements that can't be reached from the start element, or from any shared state
+    List<Element> roots = new ArrayList<>();
+    if (context.getNextElement() != null) {
+      roots.add(context.getNextElement());
+    }
+    for (Vertex.RuntimeVertex vertex : context.getModel().getVertices()) {
+      if (vertex.hasSharedState()) {
+        roots.add(vertex);
+      }
+    }
+    StronglyConnectedComponents components = context.getAlgorithm(StronglyConnectedComponents.class);
+    for (Element element : components.getUnreachableElements(roots)) {
+      issues.add("Element can not be reached from the start element or a shared state: " + element.getId());
+    }
+
     // Check for a non-strongly connected graph and in combination with
     // random generator with full edge coverage.
     if (context.getPathGenerator() instanceof RandomPath) {
@@ -73,4 +73,33 @@ public class ContextCheckerTest {
     assertThat(issues.get(0), is("The model has one cul-de-sacs, and is requested to run using a random " +
                                         "path generator and 100% edge coverage. That might not work."));
   }
+
+  @Test
+  public void testUnreachableElements() {
+    Vertex v1 = new Vertex().setName("v1").setId("v1");
+    Vertex v2 = new Vertex().setName("v2").setId("v2");
+    Vertex v3 = new Vertex().setName("v3").setId("v3");
+
+    Model model = new Model();
+    model.addEdge(new Edge().setSourceVertex(v1).setTargetVertex(v2).setName("e1").setId("e1"));
+    model.addEdge(new Edge().setSourceVertex(v2).setTargetVertex(v1).setName("e2").setId("e2"));
+    model.addEdge(new Edge().setSourceVertex(v3).setTargetVertex(v1).setName("e3").setId("e3"));
+
+    Context context = new JsonContext();
+    context.setModel(model.build()).setNextElement(v1);
+
+    List<String> issues = ContextChecker.hasIssues(context);
+    assertThat(issues.size(), is(2));
+    assertThat(issues.get(0), is("Element can not be reached from the start element or a shared state: v3"));
+    assertThat(issues.get(1), is("Element can not be reached from the start element or a shared state: e3"));
+
+    Vertex v4 = new Vertex().setName("v4").setId("v4").setSharedState("SHARED");
+    model = new Model();
+    model.addEdge(new Edge().setSourceVertex(v1).setTargetVertex(v2).setName("e1").setId("e1"));
+    model.addEdge(new Edge().setSourceVertex(v2).setTargetVertex(v1).setName("e2").setId("e2"));
+    model.addEdge(new Edge().setSourceVertex(v4).setTargetVertex(v1).setName("e4").setId("e4"));
+    context = new JsonContext();
+    context.setModel(model.build()).setNextElement(v1);
+    assertThat(ContextChecker.hasIssues(context).size(), is(0));
+  }
 }
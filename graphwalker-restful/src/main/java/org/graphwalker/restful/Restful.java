@@ -37,9 +37,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.ws.rs.*;
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static org.graphwalker.core.common.Objects.isNotNull;
 import static org.graphwalker.core.common.Objects.isNull;
 
 /**
@@ -72,9 +75,20 @@ public class Restful {
       org.graphwalker.io.common.Util.filterBlockedElements(contexts);
     }
     this.contexts = contexts;
+    closeProfiler(machine);
     machine = new SimpleMachine(this.contexts);
   }
 
+  private void closeProfiler(Machine machine) {
+    if (isNotNull(machine) && machine.getProfiler() instanceof Closeable) {
+      try {
+        ((Closeable) machine.getProfiler()).close();
+      } catch (IOException e) {
+        logger.error(e.getMessage());
+      }
+    }
+  }
+
   @POST
   @Consumes("text/plain;charset=UTF-8")
   @Produces("text/plain;charset=UTF-8")
@@ -203,6 +217,7 @@ public class Restful {
           }
           context.setExecutionStatus(ExecutionStatus.NOT_EXECUTED);
         }).collect(Collectors.toList());
+        closeProfiler(machine);
         machine = new SimpleMachine(contexts);
       }
       resultJson.put("result", "ok");
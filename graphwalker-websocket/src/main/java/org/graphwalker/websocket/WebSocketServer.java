@@ -46,6 +46,7 @@ import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetSocketAddress;
@@ -109,10 +110,24 @@ public class WebSocketServer extends org.java_websocket.server.WebSocketServer i
   @Override
   public void onClose(WebSocket socket, int code, String reason, boolean remote) {
     sockets.remove(socket);
-    machines.remove(socket);
+    closeProfiler(machines.remove(socket));
     logger.info(socket.getRemoteSocketAddress().getAddress().getHostAddress() + " has disconnected");
   }
 
+  /**
+   * Closes the profiler of a machine created for a socket, the machine of a playback is owned by
+   * the execution it was connected to.
+   */
+  private void closeProfiler(Machine machine) {
+    if (machine != null && machine != this.machine && machine.getProfiler() instanceof Closeable) {
+      try {
+        ((Closeable) machine.getProfiler()).close();
+      } catch (IOException e) {
+        logger.error(e.getMessage());
+      }
+    }
+  }
+
   @Override
   public void onMessage(WebSocket socket, String message) {
     logger.debug("Received message from: "
@@ -157,7 +172,7 @@ public class WebSocketServer extends org.java_websocket.server.WebSocketServer i
           Machine machine = new SimpleMachine(contexts);
           logger.debug("krikar: machine created");
           machine.addObserver(this);
-          machines.put(socket, machine);
+          closeProfiler(machines.put(socket, machine));
           response.put("success", true);
         } catch (Exception e) {
           logger.error(e.getMessage());
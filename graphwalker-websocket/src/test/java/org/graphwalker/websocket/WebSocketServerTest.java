@@ -67,6 +67,7 @@ public class WebSocketServerTest extends ExecutionContext implements WebSocketFl
 
   @Test
   public void testRun() throws IOException {
+    SingletonRandomGenerator.setSeed(222930684376058L);
     TestExecutor testExecutor = new TestExecutor(getClass());
     try {
       testExecutor.execute(false);